@@ -25,7 +25,7 @@ public class CreatureMovementHandler implements MovementHandler {
       result = false;
       log.debug("test isAllowedTile pout testMugger: {}, raison : Out of bounds", false);
     } else {
-      result = creature.getAllowedTileTypes().contains(gameMap.getTileTypeAt(x, y));
+      result = gameMap.isTileTypeAllowed(x, y, creature.getAllowedTileTypesMask());
       log.debug("test isAllowedTile pout testMugger: {}, type de tile : {}", result, getGameMap().getTileTypeAt(x, y));
     }
 
@@ -10,15 +10,29 @@ import game.adventurer.model.creature.Creature;
 import game.adventurer.model.creature.Monster;
 import game.adventurer.model.enums.Move;
 import game.adventurer.model.enums.MoveResult;
+import game.adventurer.model.enums.PursuitStrategy;
 import game.adventurer.model.wound.Wound;
 import game.adventurer.service.LocalizedMessageService;
 import game.adventurer.service.WoundManager;
+import game.adventurer.util.ConnectedComponents;
+import game.adventurer.util.DistanceField;
+import game.adventurer.util.FieldOfViewCache;
+import game.adventurer.util.FlowField;
+import game.adventurer.util.HierarchicalPathfinder;
+import game.adventurer.util.LineOfSightTable;
+import game.adventurer.util.NavigationGrid;
+import game.adventurer.util.PathCache;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -35,8 +49,86 @@ public class GameMap {
   private Treasure treasure;
   private List<Monster> monsters = new ArrayList<>();
   private List<Wound> woundsList = new ArrayList<>();
-  private Set<Position> occupiedTiles = new HashSet<>();
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final Set<Position> occupiedTiles = new HashSet<>();
+  /**
+   * Same information as occupiedTiles, indexed by {@code y * mapWidth + x}, so checking a tile allocates nothing.
+   */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final boolean[] occupancyGrid;
+  /**
+   * The {@link Type#mask()} bit of each tile type, indexed by {@code y * mapWidth + x}, so checking a tile against a creature's allowed types is a
+   * single AND. Built on first use, then kept up to date by {@link #setTileTypeAt}.
+   */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private byte[] tileTypeBits;
   private final WoundManager woundManager;
+  private PursuitStrategy pursuitStrategy = PursuitStrategy.DISTANCE_FIELD;
+  /**
+   * Distance fields shared by the creatures chasing the same goal with the same allowed tile types. Only the most recent ones are kept, as goals
+   * (the adventurer's position) change over time.
+   */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final Map<DistanceFieldKey, DistanceField> distanceFields = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<DistanceFieldKey, DistanceField> eldest) {
+      return size() > MAX_DISTANCE_FIELDS;
+    }
+  };
+  private static final int MAX_DISTANCE_FIELDS = 8;
+
+  private record DistanceFieldKey(Position goal, int tileTypesMask) {
+
+  }
+
+  /**
+   * Distance fields toward the nearest tile of a type, they only depend on the tile types so they are kept until one changes.
+   */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final Map<TypeDistanceFieldKey, DistanceField> typeDistanceFields = new HashMap<>();
+
+  private record TypeDistanceFieldKey(Type goalType, int tileTypesMask) {
+
+  }
+
+  /**
+   * Flow fields toward the adventurer, one per tile types mask, replaced as soon as the adventurer moves or a tile changes type.
+   */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final Map<Integer, FlowField> flowFields = new HashMap<>();
+
+  /**
+   * Incremented on every change that can alter a path: a tile occupied, freed, or changing type.
+   */
+  @Setter(AccessLevel.NONE)
+  private long version = 0;
+  /**
+   * Incremented when a tile changes type only, for what doesn't depend on occupied tiles.
+   */
+  @Setter(AccessLevel.NONE)
+  private long tilesVersion = 0;
+  @Setter(AccessLevel.NONE)
+  private final PathCache pathCache = new PathCache();
+  @Setter(AccessLevel.NONE)
+  private final FieldOfViewCache fieldOfViewCache = new FieldOfViewCache();
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private LineOfSightTable lineOfSightTable;
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final Map<Integer, ConnectedComponents> connectedComponents = new HashMap<>(); // keyed by tile types mask
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final Map<Integer, NavigationGrid> navigationGrids = new HashMap<>(); // keyed by tile types mask
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final Map<Integer, HierarchicalPathfinder> hierarchicalPathfinders = new HashMap<>(); // keyed by tile types mask
 
   public GameMap(Tile[][] grid, int mapWidth, int mapHeight, Adventurer adventurer, Treasure treasure) {
     this.grid = grid;
@@ -45,6 +137,7 @@ public class GameMap {
     this.adventurer = adventurer;
     this.treasure = treasure;
     this.woundManager = new WoundManager(woundsList);
+    this.occupancyGrid = new boolean[mapWidth * mapHeight];
   }
 
   public MoveResult moveAdventurer(Move move) {
@@ -129,7 +222,7 @@ public class GameMap {
       }
       case Monster monster -> {
         return position.x() >= 0 && position.x() < mapWidth && position.y() >= 0 && position.y() < mapHeight
-            && monster.getAllowedTileTypes().contains(getTileTypeAt(position.x(), position.y()));
+            && isTileTypeAllowed(position.x(), position.y(), monster.getAllowedTileTypesMask());
       }
       default -> {
         return false;
@@ -145,17 +238,230 @@ public class GameMap {
     return Objects.requireNonNull(grid[y][x].getType(), "Tile type cannot be null");
   }
 
+  /**
+   * Checks the type of a tile against a tile types mask, the tile being within the map.
+   *
+   * @param x             The x-coordinate of the tile.
+   * @param y             The y-coordinate of the tile.
+   * @param tileTypesMask The allowed tile types, as built by {@link Type#maskOf}.
+   * @return true if the type of the tile is in the mask.
+   */
+  public boolean isTileTypeAllowed(int x, int y, int tileTypesMask) {
+    buildTileTypeBits();
+    return (tileTypeBits[y * mapWidth + x] & tileTypesMask) != 0;
+  }
+
+  /**
+   * Builds now what the map otherwise builds lazily on the first read of its tiles (the tile type bits and the line of sight table), so the tiles
+   * can then be read from several threads at once, as long as none of them changes type meanwhile.
+   */
+  public void prepareConcurrentReads() {
+    buildTileTypeBits();
+    getLineOfSightTable();
+  }
+
+  private void buildTileTypeBits() {
+    if (tileTypeBits == null) {
+      tileTypeBits = new byte[mapWidth * mapHeight];
+      for (int tileY = 0; tileY < mapHeight; tileY++) {
+        for (int tileX = 0; tileX < mapWidth; tileX++) {
+          tileTypeBits[tileY * mapWidth + tileX] = (byte) getTileTypeAt(tileX, tileY).mask();
+        }
+      }
+    }
+  }
+
+  /**
+   * Changes the type of a tile once the map is built, invalidating what was computed from the previous type.
+   *
+   * @param x    The x-coordinate of the tile.
+   * @param y    The y-coordinate of the tile.
+   * @param type The new type of the tile.
+   */
+  public void setTileTypeAt(int x, int y, Type type) {
+    if (grid[y][x].getType() != type) {
+      grid[y][x].setType(type);
+      if (tileTypeBits != null) {
+        tileTypeBits[y * mapWidth + x] = (byte) type.mask();
+      }
+      distanceFields.clear();
+      typeDistanceFields.clear();
+      hierarchicalPathfinders.values().forEach(pathfinder -> pathfinder.markDirty(x, y));
+      tilesVersion++;
+      version++;
+    }
+  }
+
+  /**
+   * Returns the distance field toward a goal for the given allowed tile types, building it only if it is not already known. This way, every monster
+   * pursuing the adventurer during a tick shares the same field instead of running its own search.
+   *
+   * @param goal          The position every distance is measured to.
+   * @param tileTypesMask The tile types that can be walked through, as built by {@link Type#maskOf}.
+   * @return the distance field toward the goal.
+   */
+  public DistanceField getDistanceField(Position goal, int tileTypesMask) {
+    return distanceFields.computeIfAbsent(new DistanceFieldKey(goal, tileTypesMask), key -> DistanceField.build(this, goal, tileTypesMask));
+  }
+
+  /**
+   * @return the distance field toward a goal for the given allowed tile types if it is already known, {@code null} otherwise.
+   */
+  public DistanceField findDistanceField(Position goal, int tileTypesMask) {
+    return distanceFields.get(new DistanceFieldKey(goal, tileTypesMask));
+  }
+
+  /**
+   * Makes a distance field built elsewhere, e.g. on another thread from the {@link #getNavigationGrid navigation grid} of the map, available to
+   * {@link #getDistanceField}. It is ignored if a tile changed type since it was built.
+   *
+   * @param distanceField The distance field, toward a single goal.
+   */
+  public void addDistanceField(DistanceField distanceField) {
+    if (distanceField.getTilesVersion() == tilesVersion) {
+      distanceFields.putIfAbsent(new DistanceFieldKey(distanceField.getGoal(), distanceField.getTileTypesMask()), distanceField);
+    }
+  }
+
+  /**
+   * @return the flow field toward the current position of the adventurer for the given allowed tile types if it is up to date, {@code null}
+   * otherwise.
+   */
+  public FlowField findFlowField(int tileTypesMask) {
+    FlowField flowField = flowFields.get(tileTypesMask);
+    boolean upToDate = flowField != null && flowField.getTilesVersion() == tilesVersion
+        && flowField.getGoal().equals(new Position(adventurer.getTileX(), adventurer.getTileY()));
+    return upToDate ? flowField : null;
+  }
+
+  /**
+   * Makes a flow field built elsewhere available to {@link #getFlowField}. It is ignored if a tile changed type since it was built, or if the
+   * adventurer moved away from its goal.
+   *
+   * @param flowField The flow field toward the adventurer.
+   */
+  public void addFlowField(FlowField flowField) {
+    int tileTypesMask = flowField.getDistanceField().getTileTypesMask();
+    if (flowField.getTilesVersion() == tilesVersion && flowField.getGoal().equals(new Position(adventurer.getTileX(), adventurer.getTileY()))) {
+      flowFields.put(tileTypesMask, flowField);
+      addDistanceField(flowField.getDistanceField());
+    }
+  }
+
+  /**
+   * Returns the flow field toward the current position of the adventurer for the given allowed tile types. It is built at most once per tick, the
+   * adventurer moving at most once per tick, and every monster pursuing him then reads its direction from it.
+   *
+   * @param tileTypesMask The tile types that can be walked through, as built by {@link Type#maskOf}.
+   * @return the flow field toward the adventurer.
+   */
+  public FlowField getFlowField(int tileTypesMask) {
+    FlowField flowField = findFlowField(tileTypesMask);
+    if (flowField == null) {
+      Position adventurerPosition = new Position(adventurer.getTileX(), adventurer.getTileY());
+      flowField = FlowField.build(this, getDistanceField(adventurerPosition, tileTypesMask));
+      flowFields.put(tileTypesMask, flowField);
+    }
+    return flowField;
+  }
+
+  /**
+   * Returns the distance field toward the nearest tile of a type for the given allowed tile types, computed once until tile types change.
+   *
+   * @param goalType      The type of the tiles every distance is measured to.
+   * @param tileTypesMask The tile types that can be walked through, as built by {@link Type#maskOf}.
+   * @return the distance field toward the nearest tile of the type.
+   */
+  public DistanceField getDistanceFieldToType(Type goalType, int tileTypesMask) {
+    return typeDistanceFields.computeIfAbsent(new TypeDistanceFieldKey(goalType, tileTypesMask),
+        key -> DistanceField.buildToType(this, goalType, tileTypesMask));
+  }
+
+  /**
+   * Returns the labelling of the connected components for the given tile types, computing it only once per version of the tiles.
+   *
+   * @param tileTypesMask The tile types that can be walked through, as built by {@link Type#maskOf}.
+   * @return the connected components of the map for these tile types.
+   */
+  public ConnectedComponents getConnectedComponents(int tileTypesMask) {
+    ConnectedComponents components = connectedComponents.get(tileTypesMask);
+    if (components == null || components.getTilesVersion() != tilesVersion) {
+      components = ConnectedComponents.label(this, tileTypesMask);
+      connectedComponents.put(tileTypesMask, components);
+    }
+    return components;
+  }
+
+  /**
+   * Returns the precomputed lines of sight between the tiles, computing them only once per version of the tiles.
+   *
+   * @return the line of sight table of the map, or {@code null} if the map is too large for it to {@link LineOfSightTable#fitsInBudget fit in its
+   * memory budget}.
+   */
+  public LineOfSightTable getLineOfSightTable() {
+    if (!LineOfSightTable.fitsInBudget(mapWidth, mapHeight)) {
+      return null;
+    }
+    if (lineOfSightTable == null || lineOfSightTable.getTilesVersion() != tilesVersion) {
+      lineOfSightTable = LineOfSightTable.build(this);
+    }
+    return lineOfSightTable;
+  }
+
+  /**
+   * Returns the precomputed neighborhood of the tiles for the given tile types, computing it only once per version of the tiles.
+   *
+   * @param tileTypesMask The tile types that can be walked through, as built by {@link Type#maskOf}.
+   * @return the navigation grid of the map for these tile types.
+   */
+  public NavigationGrid getNavigationGrid(int tileTypesMask) {
+    NavigationGrid navigationGrid = navigationGrids.get(tileTypesMask);
+    if (navigationGrid == null || navigationGrid.getTilesVersion() != tilesVersion) {
+      navigationGrid = NavigationGrid.build(this, tileTypesMask);
+      navigationGrids.put(tileTypesMask, navigationGrid);
+    }
+    return navigationGrid;
+  }
+
+  /**
+   * Returns the hierarchical pathfinder for the given tile types, building its abstract graph on first use. It is then kept up to date by rebuilding
+   * only the clusters whose tiles change type.
+   *
+   * @param tileTypesMask The tile types that can be walked through, as built by {@link Type#maskOf}.
+   * @return the hierarchical pathfinder of the map for these tile types.
+   */
+  public HierarchicalPathfinder getHierarchicalPathfinder(int tileTypesMask) {
+    return hierarchicalPathfinders.computeIfAbsent(tileTypesMask, mask -> new HierarchicalPathfinder(this, mask));
+  }
+
   public void addMonster(Monster monster) {
     monsters.add(monster);
   }
 
   public boolean isTileOccupied(int x, int y) {
-    return occupiedTiles.contains(new Position(x, y));
+    return !isOutOfMapBounds(x, y) && occupancyGrid[y * mapWidth + x];
+  }
+
+  /**
+   * @return a copy of the occupied tiles, indexed by {@code y * mapWidth + x}, that can be read from another thread while the map changes.
+   */
+  public boolean[] getOccupancySnapshot() {
+    return occupancyGrid.clone();
+  }
+
+  /**
+   * @return the occupied tiles, read-only: they change through {@link #occupyTile} and {@link #freeTile} only.
+   */
+  public Set<Position> getOccupiedTiles() {
+    return Collections.unmodifiableSet(occupiedTiles);
   }
 
   // Methods to add/remove a Tile from occupiedTiles:
   public void occupyTile(Position position) {
-    occupiedTiles.add(position);
+    if (occupiedTiles.add(position)) {
+      occupancyGrid[position.y() * mapWidth + position.x()] = true;
+      version++;
+    }
   }
 
   public void freeTile(Position position) {
@@ -163,6 +469,8 @@ public class GameMap {
     if (!hasFreed) {
       log.warn("Cannot free : {} as not found in {} ", position, occupiedTiles);
     } else {
+      occupancyGrid[position.y() * mapWidth + position.x()] = false;
+      version++;
       log.trace("YAY ! Tile freed {}", position);
     }
   }
@@ -1,5 +1,6 @@
 package game.adventurer.model;
 
+import java.util.Collection;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NonNull;
@@ -9,7 +10,30 @@ import lombok.Setter;
 @AllArgsConstructor
 public class Tile {
 
-  public enum Type {PATH, WOOD}
+  public enum Type {
+    PATH, WOOD;
+
+    /**
+     * @return the bit representing this type in a tile types mask.
+     */
+    public int mask() {
+      return 1 << ordinal();
+    }
+
+    /**
+     * Builds a tile types mask, where each type is represented by its {@link #mask()} bit.
+     *
+     * @param types The tile types to include in the mask.
+     * @return the mask of the given types.
+     */
+    public static int maskOf(Collection<Type> types) {
+      int mask = 0;
+      for (Type type : types) {
+        mask |= type.mask();
+      }
+      return mask;
+    }
+  }
 
   @NonNull
   @Setter
@@ -3,7 +3,6 @@ package game.adventurer.model.creature;
 import game.adventurer.model.Position;
 import game.adventurer.model.Tile.Type;
 import game.adventurer.model.enums.Move;
-import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -14,7 +13,7 @@ public class Adventurer extends Creature {
 
   public Adventurer(String name, int tileX, int tileY, int health, int moveSpeed) {
     super(name, tileX, tileY, health, moveSpeed);
-    allowedTileTypes = Set.of(Type.PATH);
+    setAllowedTileTypes(Type.PATH);
     this.cooldownTime = INITIAL_COOLDOWN_TIME;
   }
 
@@ -49,7 +48,7 @@ public class Adventurer extends Creature {
       this.tileX += move.getDx();
       this.tileY += move.getDy();
       this.previousPosition = currentPosition;
-      this.currentPosition = new Position(newX, newY);
+      setCurrentPosition(new Position(newX, newY));
       lastMoveTime = currentTime;
       return true;
     }
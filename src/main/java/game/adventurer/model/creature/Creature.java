@@ -3,13 +3,18 @@ package game.adventurer.model.creature;
 import game.adventurer.model.Position;
 import game.adventurer.model.Tile.Type;
 import game.adventurer.model.enums.Direction;
-import java.util.HashSet;
+import game.adventurer.util.TileSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -31,8 +36,9 @@ public abstract class Creature {
   @Deprecated(since = "1.0", forRemoval = true)
   @Setter
   protected int tileY; // Position tileY on the game map
-  @Setter
-  protected Position currentPosition; // Current position on the game map
+  protected Position currentPosition; // Current position on the game map, only changed through setCurrentPosition()
+  @Getter(AccessLevel.NONE)
+  private final ObjectProperty<Position> observablePosition = new SimpleObjectProperty<>(); // mirrors currentPosition for the listeners
   protected IntegerProperty health; // Number of life points of a Creature, observable
   protected int moveSpeed; // unused for now, but soon
   @Setter
@@ -51,11 +57,16 @@ public abstract class Creature {
   protected int previousTileY;
   @Setter
   protected Position previousPosition; // Current position on the game map
-  protected Set<Type> allowedTileTypes;
+  @Getter(AccessLevel.NONE)
+  private Set<Type> allowedTileTypes;
+  /**
+   * The allowed tile types as a {@link Type#maskOf mask}, kept in sync with the set, for the checks done in every search.
+   */
+  private int allowedTileTypesMask;
   protected ObjectProperty<Direction> facingDirection = new SimpleObjectProperty<>();
   protected MovementHandler movementHandler;
   @Setter
-  protected Set<Position> visibleTiles = new HashSet<>();
+  protected TileSet visibleTiles = new TileSet(0, 0); // replaced by a set of the map once the field of view is known
 
   public static final int DEFAULT_HEALTH = 10;
   private static final int DEFAULT_MOVE_SPEED = 1;
@@ -70,7 +81,7 @@ public abstract class Creature {
     this.name = name;
     this.tileX = tileX;
     this.tileY = tileY;
-    this.currentPosition = new Position(tileX, tileY);
+    setCurrentPosition(new Position(tileX, tileY));
     this.health = new SimpleIntegerProperty(health);
     this.moveSpeed = moveSpeed;
     this.facingDirection.set(Direction.values()[new Random().nextInt(Direction.values().length)]); // creates a random facing Direction
@@ -95,6 +106,18 @@ public abstract class Creature {
     this.health.set(health);
   }
 
+  /**
+   * @return the observable current position, changing on every move of the creature.
+   */
+  public ReadOnlyObjectProperty<Position> currentPositionProperty() {
+    return observablePosition;
+  }
+
+  public void setCurrentPosition(Position currentPosition) {
+    this.currentPosition = currentPosition;
+    this.observablePosition.set(currentPosition);
+  }
+
   public ObjectProperty<Direction> facingDirectionProperty() {
     return facingDirection;
   }
@@ -107,6 +130,29 @@ public abstract class Creature {
     this.facingDirection.set(direction);
   }
 
+  /**
+   * @return the tile types this creature can walk on, read-only: they change through {@link #allowTileType} and {@link #forbidTileType}.
+   */
+  public Set<Type> getAllowedTileTypes() {
+    return allowedTileTypes == null ? null : Collections.unmodifiableSet(allowedTileTypes);
+  }
+
+  protected void setAllowedTileTypes(Type... types) {
+    this.allowedTileTypes = EnumSet.noneOf(Type.class);
+    this.allowedTileTypes.addAll(List.of(types));
+    this.allowedTileTypesMask = Type.maskOf(allowedTileTypes);
+  }
+
+  public void allowTileType(Type type) {
+    allowedTileTypes.add(type);
+    allowedTileTypesMask = Type.maskOf(allowedTileTypes);
+  }
+
+  public void forbidTileType(Type type) {
+    allowedTileTypes.remove(type);
+    allowedTileTypesMask = Type.maskOf(allowedTileTypes);
+  }
+
   public abstract int resetCooldownTime();
 
 }
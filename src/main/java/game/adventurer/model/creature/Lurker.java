@@ -1,16 +1,16 @@
 package game.adventurer.model.creature;
 
-import static game.adventurer.util.MiscUtil.getDistance;
-import static game.adventurer.util.PathfindingUtil.getValidNeighbors;
 import static game.adventurer.util.PathfindingUtil.shortestPath;
 
 import game.adventurer.model.GameMap;
 import game.adventurer.model.Position;
 import game.adventurer.model.Tile.Type;
 import game.adventurer.model.enums.MonsterStatus;
-import java.util.HashSet;
+import game.adventurer.model.enums.PursuitStrategy;
+import game.adventurer.util.DStarLite;
+import game.adventurer.util.DistanceField;
+import game.adventurer.util.FlowField;
 import java.util.LinkedHashSet;
-import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -25,20 +25,19 @@ public class Lurker extends Monster {
   @Setter
   private int rushCounter = 0;
   private boolean isRushing = false;
+  private final int[] woodNeighbors = new int[4]; // reused by shadowStalk on every move
 
   public Lurker(String name, int tileX, int tileY, int health, int moveSpeed, MovementHandler movementHandler) {
     super(name, tileX, tileY, health, moveSpeed, movementHandler);
     this.baseDamages = BASE_DAMAGES;
-    this.allowedTileTypes = new HashSet<>();
-    this.allowedTileTypes.add(Type.WOOD);
+    setAllowedTileTypes(Type.WOOD);
     this.cooldownTime = INITIAL_COOLDOWN_TIME;
   }
 
   public Lurker(String name, int tileX, int tileY, MovementHandler movementHandler) {
     super(name, tileX, tileY, movementHandler);
     this.baseDamages = BASE_DAMAGES;
-    this.allowedTileTypes = new HashSet<>();
-    this.allowedTileTypes.add(Type.WOOD);
+    setAllowedTileTypes(Type.WOOD);
     this.cooldownTime = INITIAL_COOLDOWN_TIME;
 
   }
@@ -104,27 +103,52 @@ public class Lurker extends Monster {
       Adventurer adventurer = gameMap.getAdventurer();
       lastSeenAdventurerPosition = new Position(adventurer.getTileX(), adventurer.getTileY());
       Position lurkerPosition = new Position(this.tileX, this.tileY);
-      LinkedHashSet<Position> path = (LinkedHashSet<Position>) shortestPath(this, lurkerPosition, lastSeenAdventurerPosition,
-          gameMap);
-      if (path.isEmpty()) {
-        return; // no path to adventurer, return
+      int distanceToAdventurer;
+      Position nextStep;
+      DStarLite planner = gameMap.getPursuitStrategy() == PursuitStrategy.INCREMENTAL ? getPursuitPlanner(gameMap) : null;
+      if (planner != null) {
+        nextStep = planner.nextStep(lurkerPosition, lastSeenAdventurerPosition);
+        distanceToAdventurer = planner.getDistanceToGoal();
+        if (nextStep == null) {
+          return; // no path to adventurer, return
+        }
+      } else if (gameMap.getPursuitStrategy() == PursuitStrategy.FLOW_FIELD) {
+        // the flow field toward the Adventurer is shared with the other monsters chasing him
+        FlowField flowField = gameMap.getFlowField(getAllowedTileTypesMask());
+        distanceToAdventurer = flowField.getDistanceField().distanceAt(currentPosition.x(), currentPosition.y());
+        nextStep = flowField.nextStep(lurkerPosition, gameMap);
+      } else {
+        // the distance field toward the Adventurer is shared with the other monsters chasing him
+        DistanceField distanceField = gameMap.getDistanceField(lastSeenAdventurerPosition, getAllowedTileTypesMask());
+        distanceToAdventurer = distanceField.distanceAt(currentPosition.x(), currentPosition.y());
+        nextStep = distanceField.nextStep(lurkerPosition, gameMap);
+      }
+      if (distanceToAdventurer == DistanceField.UNREACHABLE || nextStep == null) {
+        // the shortest ways may be blocked by other monsters, looks for a way around them
+        LinkedHashSet<Position> path = (LinkedHashSet<Position>) shortestPath(this, lurkerPosition, lastSeenAdventurerPosition,
+            gameMap);
+        if (path.isEmpty()) {
+          return; // no path to adventurer, return
+        }
+        distanceToAdventurer = path.size();
+        nextStep = path.getFirst();
       }
-      if (path.size() > 4 && gameMap.getTileTypeAt(tileX, tileY) == Type.WOOD) {
+      if (distanceToAdventurer > 4 && gameMap.getTileTypeAt(tileX, tileY) == Type.WOOD) {
         shadowStalk(gameMap); // tries to get closer to the Adventurer while staying hidden inside woods
       } else if (gameMap.getTileTypeAt(tileX, tileY) == Type.WOOD && canMove()) {
-        moveTo(path.getFirst()); // moves out of the woods
+        moveTo(nextStep); // moves out of the woods
       } else if (gameMap.getTileTypeAt(tileX, tileY) == Type.PATH && rushCounter < 3) {
         // rushes to the Adventurer
         isRushing = true;
         if (canMove()) {
-          moveTo(path.getFirst());
+          moveTo(nextStep);
           rushCounter++;
         }
       } else if (gameMap.getTileTypeAt(tileX, tileY) == Type.PATH) {
         // has already rushed to the Adventurer, follows him, a bit slower though
         isRushing = false;
         if (canMove()) {
-          moveTo(path.getFirst());
+          moveTo(nextStep);
         }
       }
     }
@@ -138,19 +162,10 @@ public class Lurker extends Monster {
    */
   private void shadowStalk(GameMap gameMap) {
     if (status.equals(MonsterStatus.ALERTED) && canMove()) {
-      Position currentPosition = new Position(this.getTileX(), this.getTileY());
-      Set<Position> possiblePositionInWoods = getValidNeighbors(currentPosition, gameMap, Set.of(Type.WOOD), false);
-      Position nextPosition = null;
-      int manhattanDistance = Integer.MAX_VALUE;
-      for (Position position : possiblePositionInWoods) {
-        if (nextPosition == null
-            || getDistance(nextPosition, new Position(gameMap.getAdventurer().getTileX(), gameMap.getAdventurer().getTileY())) < manhattanDistance) {
-          nextPosition = position;
-          manhattanDistance = getDistance(nextPosition, new Position(gameMap.getAdventurer().getTileX(), gameMap.getAdventurer().getTileY()));
-        }
-      }
-      if (nextPosition != null) {
-        moveTo(nextPosition);
+      int width = gameMap.getMapWidth();
+      int count = gameMap.getNavigationGrid(Type.WOOD.mask()).neighbors(currentPosition.y() * width + currentPosition.x(), woodNeighbors);
+      if (count > 0) {
+        moveTo(new Position(woodNeighbors[0] % width, woodNeighbors[0] / width));
       }
     }
   }
@@ -164,6 +179,15 @@ public class Lurker extends Monster {
     rushCounter = 0;
   }
 
+  /**
+   * @return the current position of the adventurer, the Lurker always chases him where he stands.
+   */
+  @Override
+  public Position getPursuitGoal(GameMap gameMap) {
+    Adventurer adventurer = gameMap.getAdventurer();
+    return new Position(adventurer.getTileX(), adventurer.getTileY());
+  }
+
   @Override
   public int resetCooldownTime() {
     return INITIAL_COOLDOWN_TIME;
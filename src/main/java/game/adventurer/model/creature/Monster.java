@@ -1,19 +1,22 @@
 package game.adventurer.model.creature;
 
+import static game.adventurer.util.PathfindingUtil.findNearestTarget;
 import static game.adventurer.util.PathfindingUtil.getValidNeighbor;
-import static game.adventurer.util.PathfindingUtil.shortestDistance;
-import static game.adventurer.util.PathfindingUtil.shortestPath;
 
 import game.adventurer.exceptions.InvalidGameStateException;
 import game.adventurer.model.GameMap;
 import game.adventurer.model.Position;
+import game.adventurer.model.Tile.Type;
 import game.adventurer.model.enums.Direction;
 import game.adventurer.model.enums.MonsterStatus;
 import game.adventurer.model.enums.Move;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
+import game.adventurer.model.enums.PursuitStrategy;
+import game.adventurer.util.DStarLite;
+import game.adventurer.util.PathfindingUtil.NearestTarget;
+import game.adventurer.util.PlannedPath;
+import game.adventurer.util.TileSet;
 import java.util.Random;
-import java.util.Set;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -22,7 +25,6 @@ import lombok.extern.slf4j.Slf4j;
 @Getter
 public abstract class Monster extends Creature {
 
-  @Setter
   protected MonsterStatus status = MonsterStatus.NEUTRAL;
 
   protected int baseDamages;
@@ -33,12 +35,20 @@ public abstract class Monster extends Creature {
   protected Position lastSeenAdventurerPosition = null;
 
   @Setter
-  protected Set<Position> searchArea = new LinkedHashSet<>();
+  protected TileSet searchArea = new TileSet(0, 0);
   @Setter
   protected Position searchTarget;
   @Setter
-  protected Set<Position> storedFOV = new HashSet<>();
-
+  protected TileSet storedFOV = new TileSet(0, 0);
+  /**
+   * Incremental planner used when pursuing with {@link PursuitStrategy#INCREMENTAL}, dropped whenever the status changes.
+   */
+  @Getter(AccessLevel.NONE)
+  private DStarLite pursuitPlanner;
+  /**
+   * Path kept across ticks toward the search target, or toward the adventurer when the shared fields can't give a step.
+   */
+  private final PlannedPath plannedPath = new PlannedPath();
 
   protected Monster(String name, int tileX, int tileY, int health, int moveSpeed, MovementHandler movementHandler) {
     super(name, tileX, tileY, health, moveSpeed);
@@ -77,30 +87,22 @@ public abstract class Monster extends Creature {
     } else {
       if (searchTarget == null) {
         // find the closest remaining Tile in the searchArea
-        int shortestFoundDistance = Integer.MAX_VALUE;
-        Position nextPosition = currentPosition;
-        for (Position position : searchArea) {
-          int newDistance = shortestDistance(this, currentPosition, position, gameMap);
-          if (newDistance > 0 && newDistance < shortestFoundDistance) {
-            shortestFoundDistance = newDistance;
-            nextPosition = position;
-
-          }
-        }
-        if (!nextPosition.equals(currentPosition)) {
-          searchArea.remove(nextPosition);
-          log.info("searchArea size : {} for {}", searchArea.size(), this.name);
-          this.setSearchTarget(nextPosition);
+        NearestTarget nearestTarget = findNearestTarget(this, currentPosition, searchArea, gameMap);
+        if (nearestTarget != null) {
+          searchArea.remove(nearestTarget.target());
+          log.info("searchArea size : {} for {}, next target {} moves away", searchArea.size(), this.name, nearestTarget.path().size());
+          this.setSearchTarget(nearestTarget.target());
+          plannedPath.set(nearestTarget.path(), nearestTarget.target(), this, gameMap);
         }
       } else {
         if (searchArea.isEmpty()) {
           chill();
           return;
         }
-        LinkedHashSet<Position> path = (LinkedHashSet<Position>) shortestPath(this, currentPosition, searchTarget, gameMap);
-        if (null != path && !path.isEmpty()) {
-          moveTo(path.getFirst());
-          searchArea.remove(path.getFirst());
+        Position nextStep = plannedPath.nextStep(this, currentPosition, searchTarget, gameMap);
+        if (nextStep != null) {
+          moveTo(nextStep);
+          searchArea.remove(nextStep);
 
           if (currentPosition.equals(searchTarget)) {
             log.info("{} : searchTarget {} reached, searchArea size: {}", this.name, searchTarget, searchArea.size());
@@ -117,14 +119,26 @@ public abstract class Monster extends Creature {
         previousTileX = tileX;
         previousTileY = tileY;
         previousPosition = currentPosition;
-        // uses PathfindingUtil to find the next tile to go get the Adventurer
-        LinkedHashSet<Position> pathToAdventurer =
-            (LinkedHashSet<Position>) shortestPath(this, currentPosition, lastSeenAdventurerPosition,
-                gameMap);
+        Position nextStep;
+        DStarLite planner = gameMap.getPursuitStrategy() == PursuitStrategy.INCREMENTAL ? getPursuitPlanner(gameMap) : null;
+        if (planner != null) {
+          // repairs the previous search, occupied tiles are already avoided
+          nextStep = planner.nextStep(currentPosition, lastSeenAdventurerPosition);
+        } else if (gameMap.getPursuitStrategy() == PursuitStrategy.FLOW_FIELD && isAdventurerAt(lastSeenAdventurerPosition, gameMap)) {
+          // follows the flow field toward the Adventurer, built once per tick for all the monsters seeing him
+          nextStep = gameMap.getFlowField(getAllowedTileTypesMask()).nextStep(currentPosition, gameMap);
+        } else {
+          // steps down the distance field toward the Adventurer, shared with the other monsters chasing the same position
+          nextStep = gameMap.getDistanceField(lastSeenAdventurerPosition, getAllowedTileTypesMask())
+              .nextStep(currentPosition, gameMap);
+        }
+        if (nextStep == null && planner == null) {
+          // the shortest ways are blocked by other monsters, follows a path around them, repaired rather than planned again on each tick
+          nextStep = plannedPath.nextStep(this, currentPosition, lastSeenAdventurerPosition, gameMap);
+        }
         // move to this tile
-        if (!pathToAdventurer.isEmpty()) {
-          moveTo(pathToAdventurer.getFirst());
-          pathToAdventurer.removeFirst(); // removes the Position where the Monster arrives
+        if (nextStep != null) {
+          moveTo(nextStep);
         }
       } else {
         throw new InvalidGameStateException(this.getName() + " has no lastSeenAdventurerPosition when it should.");
@@ -134,6 +148,21 @@ public abstract class Monster extends Creature {
   }
 
 
+  /**
+   * @return the position this monster heads to when pursuing the adventurer: where it last saw him, or {@code null} if it never did.
+   */
+  public Position getPursuitGoal(GameMap gameMap) {
+    return lastSeenAdventurerPosition;
+  }
+
+  /**
+   * @return true if the adventurer currently stands on the given position.
+   */
+  protected static boolean isAdventurerAt(Position position, GameMap gameMap) {
+    Adventurer adventurer = gameMap.getAdventurer();
+    return adventurer.getTileX() == position.x() && adventurer.getTileY() == position.y();
+  }
+
   protected void randomMove() {
     int chance = random.nextInt(100);
     if (chance < 60) {
@@ -183,7 +212,7 @@ public abstract class Monster extends Creature {
     // If a valid direction has been found, the Monster moves
     this.tileX += move.getDx();
     this.tileY += move.getDy();
-    this.currentPosition = new Position(nextX, nextY);
+    setCurrentPosition(new Position(nextX, nextY));
   }
 
 
@@ -206,6 +235,38 @@ public abstract class Monster extends Creature {
     };
   }
 
+  public void setStatus(MonsterStatus status) {
+    if (this.status != status) {
+      pursuitPlanner = null; // the next pursuit starts over with a full search
+      plannedPath.clear();
+    }
+    this.status = status;
+  }
+
+  /**
+   * Returns the incremental planner of the current pursuit, creating it on first use or when the allowed tile types changed.
+   *
+   * @param gameMap The game map the monster moves on.
+   * @return the planner of the monster, or {@code null} if the map is too large for it: the monster then pursues with the distance field.
+   */
+  protected DStarLite getPursuitPlanner(GameMap gameMap) {
+    if (!DStarLite.supportsMapSize(gameMap.getMapWidth(), gameMap.getMapHeight())) {
+      return null;
+    }
+    int tileTypesMask = getAllowedTileTypesMask();
+    if (pursuitPlanner == null || pursuitPlanner.getTileTypesMask() != tileTypesMask) {
+      pursuitPlanner = new DStarLite(gameMap, tileTypesMask);
+    }
+    return pursuitPlanner;
+  }
+
+  /**
+   * @return the incremental planner of the current pursuit, for its statistics, or {@code null} if there is none.
+   */
+  public DStarLite getPursuitPlanner() {
+    return pursuitPlanner;
+  }
+
   public void chill() {
     this.setStatus(MonsterStatus.NEUTRAL);
     this.lastSeenAdventurerPosition = null;
@@ -239,7 +300,7 @@ public abstract class Monster extends Creature {
     this.tileX = pos.x();
     this.tileY = pos.y();
     this.previousPosition = currentPosition;
-    this.currentPosition = pos;
+    setCurrentPosition(pos);
     this.setFacingDirection(facingDirection);
     lastMoveTime = System.currentTimeMillis();
   }
@@ -262,7 +323,7 @@ public abstract class Monster extends Creature {
         ", lastMoveTime=" + lastMoveTime +
         ", previousTileX=" + previousTileX +
         ", previousTileY=" + previousTileY +
-        ", allowedTileTypes=" + allowedTileTypes +
+        ", allowedTileTypes=" + getAllowedTileTypes() +
         ", facingDirection=" + facingDirection +
         ", visibleTiles=" + visibleTiles +
         '}';
@@ -2,7 +2,6 @@ package game.adventurer.model.creature;
 
 import game.adventurer.model.Tile.Type;
 import game.adventurer.model.enums.MonsterStatus;
-import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -14,7 +13,7 @@ public class Mugger extends Monster {
   public Mugger(String name, int tileX, int tileY, int health, MovementHandler movementHandler) {
     super(name, tileX, tileY, health, 1, movementHandler);
     this.baseDamages = BASE_DAMAGES;
-    this.allowedTileTypes = Set.of(Type.PATH);
+    setAllowedTileTypes(Type.PATH);
     this.cooldownTime = INITIAL_COOLDOWN_TIME;
   }
 
@@ -22,7 +21,7 @@ public class Mugger extends Monster {
     super(name, tileX, tileY, movementHandler);
     this.moveSpeed = 1;
     this.baseDamages = BASE_DAMAGES;
-    this.allowedTileTypes = Set.of(Type.PATH);
+    setAllowedTileTypes(Type.PATH);
     this.cooldownTime = INITIAL_COOLDOWN_TIME;
 
   }
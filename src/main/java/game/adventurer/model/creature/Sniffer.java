@@ -9,7 +9,6 @@ import game.adventurer.model.Tile.Type;
 import game.adventurer.model.enums.MonsterStatus;
 import game.adventurer.util.PathfindingUtil;
 import java.util.LinkedHashSet;
-import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -21,14 +20,14 @@ public class Sniffer extends Monster {
   public Sniffer(String name, int tileX, int tileY, int health, int moveSpeed, MovementHandler movementHandler) {
     super(name, tileX, tileY, health, moveSpeed, movementHandler);
     this.baseDamages = BASE_DAMAGES;
-    this.allowedTileTypes = Set.of(Type.PATH);
+    setAllowedTileTypes(Type.PATH);
     this.cooldownTime = INITIAL_COOLDOWN_TIME;
   }
 
   public Sniffer(String name, int tileX, int tileY, MovementHandler movementHandler) {
     super(name, tileX, tileY, movementHandler);
     this.baseDamages = BASE_DAMAGES;
-    this.allowedTileTypes = Set.of(Type.PATH);
+    setAllowedTileTypes(Type.PATH);
     this.cooldownTime = INITIAL_COOLDOWN_TIME;
 
   }
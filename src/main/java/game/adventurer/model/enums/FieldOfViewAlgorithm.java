@@ -0,0 +1,16 @@
+package game.adventurer.model.enums;
+
+/**
+ * Algorithms available to find the tiles a creature can see, see {@code MiscUtil.calculateFieldOfView}.
+ */
+public enum FieldOfViewAlgorithm {
+  /**
+   * A line is traced to every tile of the square around the creature, walking again through the tiles shared by the lines.
+   */
+  BRESENHAM,
+  /**
+   * Recursive shadowcasting: each of the four quadrants is scanned row by row, away from the creature, visiting each tile once and skipping the
+   * shadows of the obstacles. A tile is visible when its center is lit, which gives the same tiles as the Bresenham lines.
+   */
+  SHADOWCASTING
+}
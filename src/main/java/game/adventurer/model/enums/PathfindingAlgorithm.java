@@ -0,0 +1,15 @@
+package game.adventurer.model.enums;
+
+/**
+ * Algorithms available to find the shortest path between two positions, see {@code PathfindingUtil.shortestPath}.
+ */
+public enum PathfindingAlgorithm {
+  /**
+   * Plain A*, expanding every neighbor of each explored tile.
+   */
+  A_STAR,
+  /**
+   * Jump Point Search: an A* pruning the symmetric paths of uniform-cost grids, faster on maps with large open areas.
+   */
+  JUMP_POINT_SEARCH
+}
@@ -0,0 +1,30 @@
+package game.adventurer.model.enums;
+
+/**
+ * Ways for the monsters to find their next step when pursuing the adventurer, see {@code Monster.pursue}.
+ */
+public enum PursuitStrategy {
+  /**
+   * Steps down a distance field toward the adventurer, shared by all the monsters chasing the same position.
+   */
+  DISTANCE_FIELD,
+  /**
+   * Each monster keeps its own D* Lite planner, repairing its previous search as the adventurer moves and tiles get occupied or freed. On maps too
+   * large for the planner, the monsters step down the distance fields instead.
+   */
+  INCREMENTAL,
+  /**
+   * Steps along a flow field toward the adventurer's current position, built once per tick and tile types: the monsters that see him only read
+   * their direction from it. Monsters that lost sight of him step down the distance field toward where they last saw him.
+   */
+  FLOW_FIELD;
+
+  /**
+   * @return the strategy suited to a game: the flow field when there are many monsters (on large maps, and on medium ones in hard difficulty), the
+   * distance fields otherwise.
+   */
+  public static PursuitStrategy forSettings(MapSize mapSize, DifficultyLevel difficultyLevel) {
+    boolean manyMonsters = mapSize == MapSize.LARGE || (mapSize == MapSize.MEDIUM && difficultyLevel == DifficultyLevel.HARD);
+    return manyMonsters ? FLOW_FIELD : DISTANCE_FIELD;
+  }
+}
@@ -0,0 +1,217 @@
+package game.adventurer.service;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Position;
+import game.adventurer.model.creature.Monster;
+import game.adventurer.util.DistanceField;
+import game.adventurer.util.FlowField;
+import game.adventurer.util.GridAStar;
+import game.adventurer.util.NavigationGrid;
+import game.adventurer.util.PathfindingUtil.TileValidator;
+import game.adventurer.util.PathfindingWorkspace;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Solves the pathfinding needs of all the monsters for a tick at once, in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * A tick goes in three phases:
+ * <ol>
+ *   <li>on the JavaFX application thread, the requests are collected in a {@link Batch}, along with a snapshot of what they need from the map:
+ *   its navigation grids (immutable) and a copy of its occupied tiles,</li>
+ *   <li>on the pool, each request is solved against that snapshot only, never touching the map,</li>
+ *   <li>back on the JavaFX application thread, the {@link Result} is applied to the map in the order of the requests, so the outcome doesn't depend
+ *   on which worker finished first.</li>
+ * </ol>
+ * The distance and flow fields are handed to the map, which serves them to the monsters instead of building them itself, and the paths are
+ * handed to the monsters that asked for them.
+ */
+@Slf4j
+public class BatchPathPlanner {
+
+  private final ForkJoinPool pool;
+  /**
+   * Number of batches solved, and of requests they held.
+   */
+  @Getter
+  private long batchesCount = 0;
+  @Getter
+  private long requestsCount = 0;
+
+  public BatchPathPlanner() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public BatchPathPlanner(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * A path from a monster's position to a goal, avoiding the tiles occupied when the batch was created.
+   */
+  public record PathRequest(Monster monster, Position start, Position goal, int tileTypesMask) {
+
+  }
+
+  /**
+   * A distance field toward a goal, with the flow field derived from it if {@code flow} is true.
+   */
+  public record FieldRequest(Position goal, int tileTypesMask, boolean flow) {
+
+  }
+
+  /**
+   * The requests of a tick, and the snapshot of the map they are solved against. Created and filled on the thread owning the map.
+   */
+  public static class Batch {
+
+    private final GameMap gameMap;
+    @Getter
+    private final long tilesVersion;
+    private final int width;
+    private final boolean[] occupiedTiles;
+    private final Map<Integer, NavigationGrid> navigationGrids = new HashMap<>();
+    private final Set<FieldRequest> fieldRequests = new LinkedHashSet<>(); // the same field is often asked by several monsters
+    private final List<PathRequest> pathRequests = new ArrayList<>();
+
+    public Batch(GameMap gameMap) {
+      this.gameMap = gameMap;
+      this.tilesVersion = gameMap.getTilesVersion();
+      this.width = gameMap.getMapWidth();
+      this.occupiedTiles = gameMap.getOccupancySnapshot();
+    }
+
+    public void requestField(Position goal, int tileTypesMask, boolean flow) {
+      navigationGrids.computeIfAbsent(tileTypesMask, gameMap::getNavigationGrid);
+      fieldRequests.add(new FieldRequest(goal, tileTypesMask, flow));
+    }
+
+    public void requestPath(Monster monster, Position start, Position goal) {
+      int tileTypesMask = monster.getAllowedTileTypesMask();
+      navigationGrids.computeIfAbsent(tileTypesMask, gameMap::getNavigationGrid);
+      pathRequests.add(new PathRequest(monster, start, goal, tileTypesMask));
+    }
+
+    public boolean isEmpty() {
+      return fieldRequests.isEmpty() && pathRequests.isEmpty();
+    }
+
+    public int size() {
+      return fieldRequests.size() + pathRequests.size();
+    }
+  }
+
+  /**
+   * A field built for a {@link FieldRequest}.
+   *
+   * @param distanceField The distance field toward the goal.
+   * @param flowField     The flow field derived from it, or {@code null} if it was not requested.
+   */
+  public record Field(DistanceField distanceField, FlowField flowField) {
+
+  }
+
+  /**
+   * What a batch computed, in the order of its requests.
+   *
+   * @param batch  The batch solved.
+   * @param fields The fields, in the order of the field requests.
+   * @param paths  The paths, from the tile following the start to the goal included, empty when the goal can't be reached.
+   */
+  public record Result(Batch batch, List<Field> fields, Map<Monster, LinkedHashSet<Position>> paths) {
+
+  }
+
+  /**
+   * Solves the requests of a batch on the pool, without waiting for them.
+   *
+   * @param batch The batch to solve.
+   * @return the result, completed on a thread of the pool. It must be {@link #apply applied} back on the thread owning the map.
+   */
+  public CompletableFuture<Result> solveAsync(Batch batch) {
+    return CompletableFuture.supplyAsync(() -> solveOnPool(batch), pool);
+  }
+
+  /**
+   * Solves the requests of a batch, in parallel on the pool, and waits for the result.
+   *
+   * @param batch The batch to solve.
+   * @return the result. It must be {@link #apply applied} on the thread owning the map.
+   */
+  public Result solve(Batch batch) {
+    return solveAsync(batch).join();
+  }
+
+  /**
+   * Solves the requests of a batch from a task of the pool: the parallel streams then split the requests on the workers of the same pool.
+   */
+  private static Result solveOnPool(Batch batch) {
+    List<Field> fields = List.copyOf(batch.fieldRequests).parallelStream() // a list splits evenly between the workers
+        .map(request -> buildField(batch, request))
+        .toList();
+    List<LinkedHashSet<Position>> paths = batch.pathRequests.parallelStream()
+        .map(request -> searchPath(batch, request))
+        .toList();
+
+    Map<Monster, LinkedHashSet<Position>> pathsByMonster = new LinkedHashMap<>();
+    for (int i = 0; i < paths.size(); i++) {
+      pathsByMonster.put(batch.pathRequests.get(i).monster(), paths.get(i));
+    }
+    return new Result(batch, fields, pathsByMonster);
+  }
+
+  /**
+   * Hands the fields of a result to the map, in the order of the requests. Fields built before a tile changed type are dropped, the map will build
+   * them again when asked.
+   *
+   * @param result  The result of a batch.
+   * @param gameMap The map the batch was created from.
+   */
+  public void apply(Result result, GameMap gameMap) {
+    for (Field field : result.fields()) {
+      if (field.flowField() != null) {
+        gameMap.addFlowField(field.flowField());
+      } else {
+        gameMap.addDistanceField(field.distanceField());
+      }
+    }
+    batchesCount++;
+    requestsCount += result.batch().size();
+    log.trace("Batch of {} requests applied", result.batch().size());
+  }
+
+  private static Field buildField(Batch batch, FieldRequest request) {
+    NavigationGrid navigationGrid = batch.navigationGrids.get(request.tileTypesMask());
+    DistanceField distanceField = DistanceField.build(navigationGrid, request.goal());
+    return new Field(distanceField, request.flow() ? FlowField.build(navigationGrid, distanceField) : null);
+  }
+
+  private static LinkedHashSet<Position> searchPath(Batch batch, PathRequest request) {
+    NavigationGrid navigationGrid = batch.navigationGrids.get(request.tileTypesMask());
+    TileValidator validator = (x, y) -> navigationGrid.isWalkable(x, y) && !batch.occupiedTiles[y * batch.width + x];
+    GridAStar aStar = PathfindingWorkspace.current().getAStar(); // the workspace of the worker thread
+    Position start = request.start();
+    Position goal = request.goal();
+    return aStar.search(start.x(), start.y(), goal.x(), goal.y(), navigationGrid.getWidth(), navigationGrid.getHeight(), validator) < 0
+        ? new LinkedHashSet<>()
+        : aStar.lastPath();
+  }
+
+  @Override
+  public String toString() {
+    return "BatchPathPlanner{" +
+        "batches=" + batchesCount +
+        ", requests=" + requestsCount +
+        '}';
+  }
+
+}
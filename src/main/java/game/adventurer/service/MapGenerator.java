@@ -6,7 +6,6 @@ import static game.adventurer.model.enums.DifficultyLevel.NORMAL;
 import static game.adventurer.model.enums.MapSize.LARGE;
 import static game.adventurer.model.enums.MapSize.MEDIUM;
 import static game.adventurer.model.enums.MapSize.SMALL;
-import static game.adventurer.util.PathfindingUtil.hasPath;
 
 import game.adventurer.exceptions.NoValidRangeException;
 import game.adventurer.model.GameMap;
@@ -20,6 +19,7 @@ import game.adventurer.model.creature.Mugger;
 import game.adventurer.model.creature.Sniffer;
 import game.adventurer.model.enums.DifficultyLevel;
 import game.adventurer.model.enums.MapSize;
+import game.adventurer.model.enums.PursuitStrategy;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -108,6 +108,8 @@ public class MapGenerator {
     LOG.debug("The map: {}", map);
 
     addMonsters(map, mapSize, difficulty);
+    map.setPursuitStrategy(PursuitStrategy.forSettings(mapSize, difficulty));
+    map.getLineOfSightTable(); // built now rather than on the first field of view, when it fits in its memory budget
 
     return map;
   }
@@ -184,12 +186,10 @@ public class MapGenerator {
   }
 
   private static boolean checkPath(GameMap gameMap, Adventurer adventurer, Treasure treasure) {
-    // Pathfinding algorithm: BFS (Breadth-First Search)
-    return hasPath(
+    // Labels the PATH components with a flood fill, the labelling is kept by the map and reused to place the monsters
+    return gameMap.getConnectedComponents(Type.PATH.mask()).areConnected(
         adventurer.getTileX(), adventurer.getTileY(),
-        treasure.getTileX(), treasure.getTileY(),
-        gameMap.getMapWidth(), gameMap.getMapHeight(),
-        (x, y) -> gameMap.getTileTypeAt(x, y) == Type.PATH
+        treasure.getTileX(), treasure.getTileY()
     );
   }
 
@@ -1,7 +1,6 @@
 package game.adventurer.service;
 
 import static game.adventurer.util.PathfindingUtil.calculateSearchArea;
-import static game.adventurer.util.PathfindingUtil.findNearestTileOfType;
 import static game.adventurer.util.PathfindingUtil.shortestPath;
 
 import game.adventurer.exceptions.InvalidGameStateException;
@@ -17,20 +16,25 @@ import game.adventurer.model.creature.Monster;
 import game.adventurer.model.creature.Mugger;
 import game.adventurer.model.creature.Sniffer;
 import game.adventurer.model.enums.MonsterStatus;
+import game.adventurer.model.enums.PursuitStrategy;
 import game.adventurer.ui.animation.CreatureAnimationManager;
 import game.adventurer.util.MiscUtil;
+import game.adventurer.util.TileSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.NoSuchElementException;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.scene.Node;
 import javafx.util.Duration;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -42,6 +46,48 @@ public class MonsterBehaviorManager {
   private final GameMap gameMap;
   private final Map<Creature, Node> creaturesRepresentationMap;
   private final List<Timeline> activeTimelines;
+  /**
+   * State of each monster across ticks, in the order the monsters move.
+   */
+  private final Map<Monster, MonsterTickState> tickStates = new LinkedHashMap<>();
+  @Getter
+  private final BatchPathPlanner pathPlanner = new BatchPathPlanner();
+  @Getter
+  private final MonsterFieldOfViewUpdater fieldOfViewUpdater = new MonsterFieldOfViewUpdater();
+  /**
+   * Paths planned by the batch of the current tick, taken by the monsters that asked for them.
+   */
+  private final Map<Monster, LinkedHashSet<Position>> precomputedPaths = new HashMap<>();
+  /**
+   * Fields of view computed for the tick by the {@link MonsterFieldOfViewUpdater}, taken by the monsters storing theirs.
+   */
+  private final Map<Monster, TileSet> precomputedFieldsOfView = new HashMap<>();
+  private Timeline tickTimeline;
+  private boolean planningInProgress = false;
+  /**
+   * Number of ticks skipped because the batch of the previous one was still being solved.
+   */
+  @Getter
+  private long skippedTicks = 0;
+  /**
+   * Number of ticks the monsters moved, and time spent moving them (fields of view included), to compare the serial and parallel fields of view.
+   */
+  @Getter
+  private long movedTicks = 0;
+  private long totalTickNanos = 0;
+  private long maxTickNanos = 0;
+
+  /**
+   * Per-monster flags of the alerted and search behaviors.
+   * <p>
+   * <i>NB:</i> not used by Sniffers.
+   */
+  private static class MonsterTickState {
+
+    private final AtomicBoolean hasReachLastSeenPosition = new AtomicBoolean(false); // the monster has reached the last seen position
+    private final AtomicBoolean justLeftMonsterFoV = new AtomicBoolean(false); // the monster has just lost sight of the adventurer
+    private final AtomicReference<LinkedHashSet<Position>> pathToExplore = new AtomicReference<>(new LinkedHashSet<>());
+  }
 
   public MonsterBehaviorManager(GameMap gameMap, Map<Creature, Node> creaturesRepresentationMap, List<Timeline> activeTimelines) {
     this.gameMap = gameMap;
@@ -50,158 +96,176 @@ public class MonsterBehaviorManager {
   }
 
   /**
-   * Calculates the field of view for a specified Monster and updates its visibleTiles set.
+   * Calculates the field of view for a specified Monster and updates its visibleTiles set. Only needed when the whole field of view is used: the
+   * detection of the adventurer checks a single tile.
    *
    * @param monster The monster for which to calculate the field of view.
-   * @return A set of positions visible by the monster.
+   * @return A frozen set of positions visible by the monster.
    */
-  private Set<Position> calculateMonsterFieldOfView(Monster monster) {
-    Set<Position> visibleTiles = MiscUtil.calculateFieldOfView(monster, gameMap);
+  private TileSet calculateMonsterFieldOfView(Monster monster) {
+    TileSet visibleTiles = MiscUtil.calculateFieldOfView(monster, gameMap);
     monster.setVisibleTiles(visibleTiles);
     return visibleTiles;
   }
 
 
   /**
-   * Detects if the specified adventurer is within a given monster's field of view.
+   * Detects if the specified adventurer is within a given monster's field of view. Only the adventurer's tile is checked, the whole field of view
+   * of the monster is not computed.
    *
    * @param monster    The monster whose field of view is being checked.
    * @param adventurer The adventurer whose position is being checked.
    * @return {@code true} if the adventurer is within the monster's field of view,{@code false} otherwise.
    */
   private boolean detectAdventurer(Monster monster, Adventurer adventurer) {
-    Position adventurerPosition = new Position(adventurer.getTileX(), adventurer.getTileY());
-    return monster.getVisibleTiles().contains(adventurerPosition);
+    return MiscUtil.canSee(monster, adventurer.getTileX(), adventurer.getTileY(), gameMap);
   }
 
   /**
-   * Moves all monsters on the game map according to their behavior.
+   * Starts moving all monsters on the game map according to their behavior, on a single timeline ticking every 100ms.
+   * <p>
+   * Each tick, the pathfinding needs of all the monsters are first solved together by the {@link BatchPathPlanner}, off the JavaFX application
+   * thread. The monsters then move one after the other, in the order of the map's list, back on the JavaFX application thread. A tick coming while
+   * the previous one is still being planned is skipped. Before they move, the fields of view to be stored by the monsters that lost sight of the
+   * adventurer are computed together by the {@link MonsterFieldOfViewUpdater}.
    *
    * @param creatureAnimationManager the animation manager handling creature animations
-   * @throws MissingCreatureException if a monster is not found in the representation map
+   * @throws MissingCreatureException     if a monster is not found in the representation map
+   * @throws WrongTypeOfCreatureException if a monster is of a type whose behavior is not handled
    */
   public void moveMonsters(CreatureAnimationManager creatureAnimationManager) throws MissingCreatureException, WrongTypeOfCreatureException {
-    Adventurer adventurer = gameMap.getAdventurer();
     for (Monster monster : gameMap.getMonsters()) {
-      if (monster instanceof Mugger mugger) {
-        moveMugger(creatureAnimationManager, mugger, adventurer);
-      } else if (monster instanceof Sniffer sniffer) {
-        moveSniffer(creatureAnimationManager, sniffer, adventurer);
-      } else if (monster instanceof Lurker lurker) {
-        moveLurker(creatureAnimationManager, lurker, adventurer);
+      checkMonstersPresence(monster);
+      if (!(monster instanceof Mugger || monster instanceof Sniffer || monster instanceof Lurker)) {
+        throw new WrongTypeOfCreatureException("Unhandled type of monster: " + monster.getClass().getName());
       }
+      logStartedMovingMessage(monster);
+      tickStates.put(monster, new MonsterTickState());
     }
+
+    tickTimeline = new Timeline(new KeyFrame(Duration.millis(100), event -> tick(creatureAnimationManager)));
+    tickTimeline.setCycleCount(Animation.INDEFINITE);
+    tickTimeline.play();
+    activeTimelines.add(tickTimeline);
   }
 
   /**
-   * Handles the movement logic for a Mugger.
-   *
-   * @param creatureAnimationManager the animation manager handling creature animations
-   * @param mugger                   the Mugger instance to move
-   * @param adventurer               the Adventurer instance to track
-   * @throws MissingCreatureException if the Mugger is not found in the representation map
+   * Plans the tick on the pool, then moves the monsters once the plan is back on the JavaFX application thread.
    */
-  private void moveMugger(CreatureAnimationManager creatureAnimationManager, Mugger mugger, Adventurer adventurer)
-      throws MissingCreatureException, WrongTypeOfCreatureException {
-    checkMonstersPresence(mugger);
-    logStartedMovingMessage(mugger);
-
-    AtomicBoolean hasReachLastSeenPosition = new AtomicBoolean(false);
-    AtomicBoolean justLeftMonsterFoV = new AtomicBoolean(false);
-    AtomicReference<LinkedHashSet<Position>> pathToExplore = new AtomicReference<>(new LinkedHashSet<>());
-
-    Timeline timeline = createTimelineForMonster(mugger, creatureAnimationManager, adventurer, hasReachLastSeenPosition, justLeftMonsterFoV,
-        pathToExplore);
+  private void tick(CreatureAnimationManager creatureAnimationManager) {
+    if (planningInProgress) {
+      skippedTicks++;
+      return;
+    }
+    BatchPathPlanner.Batch batch = collectPathRequests();
+    if (batch.isEmpty()) {
+      moveAllMonsters(creatureAnimationManager, Map.of());
+      return;
+    }
+    planningInProgress = true;
+    pathPlanner.solveAsync(batch).whenComplete((result, error) -> Platform.runLater(() -> {
+      planningInProgress = false;
+      if (error != null) {
+        log.error("Batch path planning failed, monsters plan on their own this tick: {}", error.getMessage());
+      } else {
+        pathPlanner.apply(result, gameMap);
+      }
+      if (tickTimeline.getStatus() == Animation.Status.RUNNING) { // not if the game was paused or ended meanwhile
+        moveAllMonsters(creatureAnimationManager, error != null ? Map.of() : result.paths());
+      }
+    }));
+  }
 
-    timeline.setCycleCount(Animation.INDEFINITE);
-    timeline.play();
-    activeTimelines.add(timeline);
+  /**
+   * Collects what the monsters will need to move this tick and isn't known yet: the distance or flow fields of the pursuing monsters, and the paths
+   * of the monsters that just lost sight of the adventurer. The pursuits of the {@link PursuitStrategy#INCREMENTAL incremental} strategy are
+   * repaired by each monster's own planner, they are not part of the batch.
+   */
+  private BatchPathPlanner.Batch collectPathRequests() {
+    BatchPathPlanner.Batch batch = new BatchPathPlanner.Batch(gameMap);
+    PursuitStrategy pursuitStrategy = gameMap.getPursuitStrategy();
+    Adventurer adventurer = gameMap.getAdventurer();
+    Position adventurerPosition = new Position(adventurer.getTileX(), adventurer.getTileY());
+    for (Map.Entry<Monster, MonsterTickState> entry : tickStates.entrySet()) {
+      Monster monster = entry.getKey();
+      int tileTypesMask = monster.getAllowedTileTypesMask();
+      if (monster.getStatus() == MonsterStatus.ALERTED && pursuitStrategy != PursuitStrategy.INCREMENTAL) {
+        Position goal = monster.getPursuitGoal(gameMap);
+        if (goal == null) {
+          continue;
+        }
+        boolean flow = pursuitStrategy == PursuitStrategy.FLOW_FIELD && goal.equals(adventurerPosition);
+        if (flow ? gameMap.findFlowField(tileTypesMask) == null : gameMap.findDistanceField(goal, tileTypesMask) == null) {
+          batch.requestField(goal, tileTypesMask, flow);
+        }
+      } else if (monster.getStatus() == MonsterStatus.IN_SEARCH && !(monster instanceof Sniffer) && entry.getValue().justLeftMonsterFoV.get()
+          && monster.getLastSeenAdventurerPosition() != null) {
+        batch.requestPath(monster, new Position(monster.getTileX(), monster.getTileY()), monster.getLastSeenAdventurerPosition());
+      }
+    }
+    return batch;
   }
 
   /**
-   * Handles the movement logic for a Sniffer.
-   * <p>
-   * {@code moveSniffer()} does not use the {@code createTimelineForMonster()} method nor other methods shared with other types of {@code Monster}
-   * except {@code handleNeutralMovement()}
+   * Moves every monster once, in the order of the map's list.
    *
    * @param creatureAnimationManager the animation manager handling creature animations
-   * @param sniffer                  the Sniffer instance to move
-   * @param adventurer               the Adventurer instance to track
-   * @throws MissingCreatureException if the Sniffer is not found in the representation map
+   * @param plannedPaths             the paths computed by the batch, by monster
    */
-  private void moveSniffer(CreatureAnimationManager creatureAnimationManager, Sniffer sniffer, Adventurer adventurer)
-      throws MissingCreatureException {
-    checkMonstersPresence(sniffer);
-    logStartedMovingMessage(sniffer);
-
-    Timeline timeline = new Timeline(new KeyFrame(Duration.millis(100), event ->
-    {
+  private void moveAllMonsters(CreatureAnimationManager creatureAnimationManager, Map<Monster, LinkedHashSet<Position>> plannedPaths) {
+    long start = System.nanoTime();
+    Adventurer adventurer = gameMap.getAdventurer();
+    precomputedPaths.clear();
+    precomputedPaths.putAll(plannedPaths);
+    precomputedFieldsOfView.clear();
+    precomputedFieldsOfView.putAll(fieldOfViewUpdater.update(gameMap, collectFieldOfViewRequests()));
+    for (Map.Entry<Monster, MonsterTickState> entry : tickStates.entrySet()) {
+      Monster monster = entry.getKey();
+      MonsterTickState state = entry.getValue();
       try {
-        handleSnifferMovement(sniffer, creatureAnimationManager, adventurer);
+        if (monster instanceof Sniffer sniffer) {
+          handleSnifferMovement(sniffer, creatureAnimationManager, adventurer);
+        } else {
+          handleMonsterMovement(monster, creatureAnimationManager, adventurer, state.hasReachLastSeenPosition, state.justLeftMonsterFoV,
+              state.pathToExplore);
+        }
       } catch (MissingCreatureException e) {
-        log.error("Monster:{} - {}", sniffer.getName(), e.getMessage());
+        log.error("Monster:{} - {}", monster.getName(), e.getMessage());
       }
     }
-    ));
-
-    timeline.setCycleCount(Animation.INDEFINITE);
-    timeline.play();
-    activeTimelines.add(timeline);
+    long elapsed = System.nanoTime() - start;
+    movedTicks++;
+    totalTickNanos += elapsed;
+    maxTickNanos = Math.max(maxTickNanos, elapsed);
   }
 
   /**
-   * Handles the movement logic for a Lurker.
-   *
-   * @param creatureAnimationManager the animation manager handling creature animations
-   * @param lurker                   the Lurker instance to move
-   * @param adventurer               the Adventurer instance to track
-   * @throws MissingCreatureException if the Lurker is not found in the representation map
+   * @return the average time spent moving the monsters during a tick, in microseconds.
    */
-  private void moveLurker(CreatureAnimationManager creatureAnimationManager, Lurker lurker, Adventurer adventurer)
-      throws MissingCreatureException, WrongTypeOfCreatureException {
-    checkMonstersPresence(lurker);
-    logStartedMovingMessage(lurker);
-
-    AtomicBoolean hasReachLastSeenPosition = new AtomicBoolean(false);
-    AtomicBoolean justLeftMonsterFoV = new AtomicBoolean(false);
-    AtomicReference<LinkedHashSet<Position>> pathToExplore = new AtomicReference<>(new LinkedHashSet<>());
-
-    Timeline timeline = createTimelineForMonster(lurker, creatureAnimationManager, adventurer, hasReachLastSeenPosition, justLeftMonsterFoV,
-        pathToExplore);
+  public long getAverageTickMicros() {
+    return movedTicks == 0 ? 0 : totalTickNanos / movedTicks / 1000;
+  }
 
-    timeline.setCycleCount(Animation.INDEFINITE);
-    timeline.play();
-    activeTimelines.add(timeline);
+  /**
+   * @return the longest time spent moving the monsters during a tick, in microseconds.
+   */
+  public long getMaxTickMicros() {
+    return maxTickNanos / 1000;
   }
 
   /**
-   * Creates a timeline for a monster's movement behavior.
-   * <p>
-   * <i>NB:</i> not used to handle Sniffers.
-   *
-   * @param monster                  the monster to move
-   * @param creatureAnimationManager the animation manager handling creature animations
-   * @param adventurer               the Adventurer instance to track
-   * @param hasReachLastSeenPosition flag indicating if the monster has reached the last seen position of the adventurer
-   * @param justLeftMonsterFoV       flag indicating if the monster has just lost sight of the adventurer
-   * @param pathToExplore            the path the monster should explore when searching
-   * @return a configured Timeline instance for the monster's movement
+   * Collects the monsters that will store their field of view this tick: the ones that just lost sight of the adventurer, and haven't moved since.
    */
-  private Timeline createTimelineForMonster(Monster monster, CreatureAnimationManager creatureAnimationManager, Adventurer adventurer,
-      AtomicBoolean hasReachLastSeenPosition, AtomicBoolean justLeftMonsterFoV, AtomicReference<LinkedHashSet<Position>> pathToExplore)
-      throws WrongTypeOfCreatureException {
-    if (monster instanceof Sniffer) {
-      throw new WrongTypeOfCreatureException("This method cannot be used with" + Sniffer.class.getName());
-    }
-    return new Timeline(new KeyFrame(Duration.millis(100), event ->
-    {
-      try {
-        handleMonsterMovement(monster, creatureAnimationManager, adventurer, hasReachLastSeenPosition, justLeftMonsterFoV, pathToExplore);
-      } catch (MissingCreatureException e) {
-        log.error("Monster:{} - {}", monster.getName(), e.getMessage());
+  private List<Monster> collectFieldOfViewRequests() {
+    List<Monster> monsters = new ArrayList<>();
+    for (Map.Entry<Monster, MonsterTickState> entry : tickStates.entrySet()) {
+      Monster monster = entry.getKey();
+      if (monster.getStatus() == MonsterStatus.IN_SEARCH && !(monster instanceof Sniffer) && entry.getValue().justLeftMonsterFoV.get()
+          && monster.getLastSeenAdventurerPosition() != null) {
+        monsters.add(monster);
       }
     }
-    ));
+    return monsters;
   }
 
   /**
@@ -246,8 +310,6 @@ public class MonsterBehaviorManager {
     if (triggerAnimation) {
       animateCreature(creatureAnimationManager, monster);
     }
-    // calculates and updates the monster's field of view after move
-    calculateMonsterFieldOfView(monster);
     // checks if it sees the Adventurer
     if (detectAdventurer(monster, adventurer)) {
       updateLastSeenAdventurerPosition(monster, adventurer);
@@ -272,36 +334,30 @@ public class MonsterBehaviorManager {
     // it has chased the Adventurer and lost it, and is now exhausted, thus slower, until he gets back to the woods
     if (gameMap.getTileTypeAt(lurker.getTileX(), lurker.getTileY()).equals(Type.PATH)) {
       if (canMoveOnPathTile) {
-        Position nearestWood = findNearestTileOfType(new Position(lurker.getTileX(), lurker.getTileY()), gameMap, Type.WOOD);
-        if (nearestWood != null) {
-          LinkedHashSet<Position> shortestPath = (LinkedHashSet<Position>) shortestPath(lurker,
-              new Position(lurker.getTileX(), lurker.getTileY()), nearestWood, gameMap);
-          try {
-            Position nextPos = shortestPath.getFirst();
-            lurker.moveTo(nextPos);
-            triggerAnimation = true;
-          } catch (NoSuchElementException e) {
-            log.warn("No path to woods found for {}: {}", lurker.getName(), e.getMessage());
-          }
+        // the distance to the nearest woods is precomputed for the whole map, the way back is a simple neighbor lookup
+        Position nextPos = gameMap.getDistanceFieldToType(Type.WOOD, lurker.getAllowedTileTypesMask())
+            .nextStep(new Position(lurker.getTileX(), lurker.getTileY()), gameMap);
+        if (nextPos != null) {
+          lurker.moveTo(nextPos);
+          triggerAnimation = true;
+        } else {
+          log.warn("No free path to woods found for {}", lurker.getName());
         }
       }
     } else if (lurker.canMove()) {
       // Lurker is back in the woods and doesn't see the adventurer, it won't travel through PATH tiles
       lurker.setRushCounter(0); // reset the Lurker's ability to rush the Adventurer
-      lurker.getAllowedTileTypes().remove(Type.PATH);
+      lurker.forbidTileType(Type.PATH);
       triggerAnimation = lurker.wander();
     }
     if (triggerAnimation) {
       animateCreature(creatureAnimationManager, lurker);
     }
-    // calculates and updates the monster's field of view after move
-    calculateMonsterFieldOfView(lurker);
-    log.trace("LURKER FOV size: {}, FOV:{}", lurker.getVisibleTiles().size(), lurker.getVisibleTiles());
     // checks if it sees the Adventurer
     if (detectAdventurer(lurker, adventurer)) {
       updateLastSeenAdventurerPosition(lurker, adventurer);
       lurker.setStatus(MonsterStatus.ALERTED);
-      lurker.getAllowedTileTypes().add(Type.PATH); // authorizes the Lurker to move on PATH tiles when he finds the adventurer
+      lurker.allowTileType(Type.PATH); // authorizes the Lurker to move on PATH tiles when he finds the adventurer
       log.info(STATUS_CHANGE_MESSAGE, lurker.getName(), adventurer.getTileX(), adventurer.getTileY(), lurker.getStatus());
     }
 
@@ -321,7 +377,6 @@ public class MonsterBehaviorManager {
     try {
       monster.pursue(gameMap);
       animateCreature(creatureAnimationManager, monster);
-      calculateMonsterFieldOfView(monster);
       if (detectAdventurer(monster, adventurer)) {
         updateLastSeenAdventurerPosition(monster, adventurer);
       } else {
@@ -350,10 +405,13 @@ public class MonsterBehaviorManager {
       AtomicBoolean hasReachLastSeenPosition, AtomicBoolean justLeftMonsterFoV, AtomicReference<LinkedHashSet<Position>> pathToExplore)
       throws MissingCreatureException {
     if (justLeftMonsterFoV.get()) {
-      pathToExplore.set((LinkedHashSet<Position>) shortestPath(monster, new Position(monster.getTileX(), monster.getTileY()),
-          monster.getLastSeenAdventurerPosition(), gameMap));
-      // Storing Field of View when lost sight of the Adventurer
-      monster.setStoredFOV(calculateMonsterFieldOfView(monster));
+      LinkedHashSet<Position> precomputedPath = precomputedPaths.remove(monster); // planned by the batch of the tick, if any
+      pathToExplore.set(precomputedPath != null ? precomputedPath
+          : (LinkedHashSet<Position>) shortestPath(monster, new Position(monster.getTileX(), monster.getTileY()),
+              monster.getLastSeenAdventurerPosition(), gameMap));
+      // Storing Field of View when lost sight of the Adventurer, in a copy as it grows with the explored tiles
+      TileSet fieldOfView = precomputedFieldsOfView.remove(monster); // computed for the tick, if any
+      monster.setStoredFOV(new TileSet(fieldOfView != null ? fieldOfView : calculateMonsterFieldOfView(monster)));
       justLeftMonsterFoV.set(false);
     }
 
@@ -362,8 +420,6 @@ public class MonsterBehaviorManager {
       monster.getStoredFOV()
           .add(pathToExplore.get().getFirst()); // adds it to the set of positions not to explore once the adventurer's last seen position is reached
       pathToExplore.get().removeFirst();
-      // calculates and updates the monster's field of view after move
-      calculateMonsterFieldOfView(monster);
       // checks if it sees the Adventurer
       if (detectAdventurer(monster, adventurer)) {
         updateLastSeenAdventurerPosition(monster, adventurer);
@@ -386,8 +442,6 @@ public class MonsterBehaviorManager {
       monster.search(gameMap);
     }
     animateCreature(creatureAnimationManager, monster);
-    // calculates and updates the monster's field of view after move
-    calculateMonsterFieldOfView(monster);
     // checks if it sees the Adventurer
     if (detectAdventurer(monster, adventurer)) {
       monster.setSearchTarget(null);
@@ -413,7 +467,6 @@ public class MonsterBehaviorManager {
       try {
         sniffer.pursue(gameMap);
         animateCreature(creatureAnimationManager, sniffer);
-        calculateMonsterFieldOfView(sniffer);
         if (detectAdventurer(sniffer, adventurer)) {
           updateLastSeenAdventurerPosition(sniffer, adventurer);
         } else {
@@ -428,7 +481,6 @@ public class MonsterBehaviorManager {
     } else if (sniffer.getStatus().equals(MonsterStatus.IN_SEARCH) && sniffer.canMove() && sniffer.getLastSeenAdventurerPosition() != null) {
       sniffer.search(gameMap);
       animateCreature(creatureAnimationManager, sniffer);
-      calculateMonsterFieldOfView(sniffer);
       if (detectAdventurer(sniffer, adventurer)) {
         sniffer.setSearchTarget(null);
         sniffer.getSearchArea().clear(); // Sniffer's search area isn't used anyway
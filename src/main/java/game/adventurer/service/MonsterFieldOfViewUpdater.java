@@ -0,0 +1,127 @@
+package game.adventurer.service;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.creature.Monster;
+import game.adventurer.util.FieldOfViewCache;
+import game.adventurer.util.MiscUtil;
+import game.adventurer.util.TileSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Computes at once the fields of view the monsters need during a tick: the ones they store when they lose sight of the adventurer.
+ * <p>
+ * An update goes in three phases, the JavaFX application thread waiting for the second one, so no monster moves meanwhile:
+ * <ol>
+ *   <li>on the JavaFX application thread, the fields of view are looked up in the {@link FieldOfViewCache cache} of the map, and the map is
+ *   {@link GameMap#prepareConcurrentReads() prepared} to be read from several threads,</li>
+ *   <li>the missing ones are {@link MiscUtil#computeFieldOfView computed}, in parallel on a {@link ForkJoinPool} or one after the other, as
+ *   {@link #PARALLEL_PROPERTY chosen}, reading only the tiles of the map,</li>
+ *   <li>back on the JavaFX application thread, they are put in the cache and handed to the monsters, in the order they were given.</li>
+ * </ol>
+ * The time spent by each update is measured, the latency of the whole tick being measured by the {@link MonsterBehaviorManager}.
+ */
+@Slf4j
+public class MonsterFieldOfViewUpdater {
+
+  /**
+   * System property choosing how the missing fields of view are computed, e.g. {@code -Dadventurer.monsters.parallelFieldsOfView=false} to compute
+   * them one after the other. In parallel by default.
+   */
+  public static final String PARALLEL_PROPERTY = "adventurer.monsters.parallelFieldsOfView";
+
+  private final ForkJoinPool pool;
+  /**
+   * Whether the missing fields of view are computed in parallel on the pool, or one after the other on the calling thread.
+   */
+  @Getter
+  @Setter
+  private boolean parallel = Boolean.parseBoolean(System.getProperty(PARALLEL_PROPERTY, "true"));
+  /**
+   * Number of updates, of fields of view computed (not found in the cache), and time spent by the updates.
+   */
+  @Getter
+  private long updatesCount = 0;
+  @Getter
+  private long fieldsOfViewCount = 0;
+  private long totalNanos = 0;
+  private long maxNanos = 0;
+
+  public MonsterFieldOfViewUpdater() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public MonsterFieldOfViewUpdater(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Gives the fields of view of some monsters, and hands them to the monsters. Called on the thread owning the map.
+   *
+   * @param gameMap  The map the monsters are on.
+   * @param monsters The monsters whose fields of view are needed.
+   * @return the frozen fields of view, by monster, in the order of the given monsters.
+   */
+  public Map<Monster, TileSet> update(GameMap gameMap, Collection<Monster> monsters) {
+    Map<Monster, TileSet> fieldsOfView = new LinkedHashMap<>();
+    if (monsters.isEmpty()) {
+      return fieldsOfView;
+    }
+    long start = System.nanoTime();
+    FieldOfViewCache cache = gameMap.getFieldOfViewCache();
+    long tilesVersion = gameMap.getTilesVersion();
+    List<Monster> missing = new ArrayList<>();
+    for (Monster monster : monsters) {
+      TileSet fieldOfView = cache.find(monster, tilesVersion);
+      fieldsOfView.put(monster, fieldOfView); // keeps the order, missing ones are filled below
+      if (fieldOfView == null) {
+        missing.add(monster);
+      }
+    }
+
+    if (!missing.isEmpty()) {
+      gameMap.prepareConcurrentReads();
+      List<TileSet> computed = parallel && missing.size() > 1
+          ? pool.submit(() -> missing.parallelStream().map(monster -> MiscUtil.computeFieldOfView(monster, gameMap)).toList()).join()
+          : missing.stream().map(monster -> MiscUtil.computeFieldOfView(monster, gameMap)).toList();
+      for (int i = 0; i < missing.size(); i++) {
+        fieldsOfView.put(missing.get(i), cache.put(missing.get(i), tilesVersion, computed.get(i)));
+      }
+    }
+    fieldsOfView.forEach(Monster::setVisibleTiles);
+
+    long elapsed = System.nanoTime() - start;
+    updatesCount++;
+    fieldsOfViewCount += missing.size();
+    totalNanos += elapsed;
+    maxNanos = Math.max(maxNanos, elapsed);
+    log.trace("{} fields of view given, {} computed, in {} µs", fieldsOfView.size(), missing.size(), elapsed / 1000);
+    return fieldsOfView;
+  }
+
+  /**
+   * @return the average time spent by an update, in microseconds.
+   */
+  public long getAverageUpdateMicros() {
+    return updatesCount == 0 ? 0 : totalNanos / updatesCount / 1000;
+  }
+
+  @Override
+  public String toString() {
+    return "MonsterFieldOfViewUpdater{" +
+        "parallel=" + parallel +
+        ", updates=" + updatesCount +
+        ", fieldsOfView=" + fieldsOfViewCount +
+        ", averageUpdateMicros=" + getAverageUpdateMicros() +
+        ", maxUpdateMicros=" + maxNanos / 1000 +
+        '}';
+  }
+
+}
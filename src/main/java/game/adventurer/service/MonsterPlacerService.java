@@ -11,7 +11,6 @@ import game.adventurer.model.creature.MovementHandler;
 import game.adventurer.model.creature.Mugger;
 import game.adventurer.model.creature.Sniffer;
 import game.adventurer.model.enums.MapSize;
-import game.adventurer.util.PathfindingUtil;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
@@ -220,8 +219,9 @@ public class MonsterPlacerService {
     if (monsterClass == Lurker.class) {
       return type == Tile.Type.WOOD;
     } else if (monsterClass == Sniffer.class || monsterClass == Mugger.class) {
-      return type == Tile.Type.PATH && PathfindingUtil.hasPath(x, y, map.getAdventurer().getTileX(), map.getAdventurer().getTileY(), mapWidth,
-          mapHeight, (currentX, currentY) -> map.getTileTypeAt(currentX, currentY) == Type.PATH);
+      // PATH components are labelled once per map, so checking the path to the Adventurer is a label comparison
+      return type == Tile.Type.PATH
+          && map.getConnectedComponents(Type.PATH.mask()).areConnected(x, y, map.getAdventurer().getTileX(), map.getAdventurer().getTileY());
     } else {
       log.warn("Unexpected Monster class : {}", monsterClass.getSimpleName());
     }
@@ -39,14 +39,13 @@ import game.adventurer.ui.common.option.KeyBindingOption;
 import game.adventurer.ui.common.option.LanguageOption;
 import game.adventurer.ui.common.option.ScoreBoardOption;
 import game.adventurer.util.PathfindingUtil;
+import game.adventurer.util.TileSet;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 import javafx.animation.Animation;
 import javafx.animation.FadeTransition;
 import javafx.animation.KeyFrame;
@@ -96,6 +95,10 @@ public class MainGameScene extends BaseScene implements Localizable {
   private static final double MESSAGE_BOX_MIN_HEIGHT = 250.0;
   public static final String FAILED_INITIAL_DISTANCE = "Failed to calculate initial distance to treasure. This should never happen.";
   public static final String MEDIEVAL_FONT = "medieval-font";
+  private static final Color PATH_COLOR = Color.web("#B87065");
+  private static final Color VISIBLE_PATH_COLOR = Color.web("#D8A095"); // Lighter PATH color
+  private static final Color WOOD_COLOR = Color.web("#206600");
+  private static final Color TILE_BORDER_COLOR = Color.web("#4a5246"); // grey-greenish tile border
   private int initialHealth;
   private GameMap gameMap;
   private Pane mapView;
@@ -140,7 +143,19 @@ public class MainGameScene extends BaseScene implements Localizable {
   private CreditsOverlay creditsOverlay;
 
   private Rectangle[][] tileRectangles; // 2D array to store references to the mapView rectangles
-  private Set<Position> visibleTiles; // Positions of the Tiles that the Adventurer has in its field of view
+  private TileSet visibleTiles; // Positions of the Tiles that the Adventurer has in its field of view
+  private boolean fieldOfViewOutdated = true; // set when the Adventurer moves or turns
+  private boolean monstersVisibilityOutdated = true; // set when a Monster moves, or when the field of view changes
+  /**
+   * Number of frames of the game loop, and of updates of the Adventurer's field of view: before being driven by the changes, the field of view was
+   * updated on every frame.
+   */
+  @Getter
+  private long framesCount = 0;
+  @Getter
+  private long fieldOfViewUpdatesCount = 0;
+  private long fieldOfViewUpdatesInSecond = 0;
+  private long secondStartTime = 0;
 
   private final List<Timeline> activeTimelines = new ArrayList<>(); // stores timelines to properly handle them on scene change
   private final Map<Creature, Node> creaturesRepresentationMap = new HashMap<>(); // stores link between a Creature the Node representing it
@@ -178,6 +193,7 @@ public class MainGameScene extends BaseScene implements Localizable {
   @Override
   protected void initialize() throws InvalidGameStateException {
     initialHealth = gameMap.getAdventurer().getHealth();
+    gameMap.getAdventurer().setVisibleTiles(new TileSet(gameMap.getMapWidth(), gameMap.getMapHeight()));
     this.visibleTiles = gameMap.getAdventurer().getVisibleTiles(); // visibleTiles references the set in Adventurer
     double windowWidth = sharedSize.getWidth();
     double windowHeight = sharedSize.getHeight();
@@ -291,6 +307,7 @@ public class MainGameScene extends BaseScene implements Localizable {
 
     creatureAnimationManager = new CreatureAnimationManager(this, this.gameMap);
     monsterBehaviorManager = new MonsterBehaviorManager(gameMap, creaturesRepresentationMap, activeTimelines);
+    listenToVisibilityChanges();
     startGameLoop();
     startMonsterMovement();
 
@@ -456,17 +473,48 @@ public class MainGameScene extends BaseScene implements Localizable {
    * This method updates the adventurer's field of view display based on the current game state and controls the visibility of specific game objects
    * (like the monsters' representations), making them appear only when they are within the adventurer's visible tiles.
    * </p>
+   * <p>
+   * Called on every frame, it only does something when the Adventurer or a Monster moved, or the Adventurer turned, since the previous frame.
+   * </p>
    */
   private void updateVisibilityAndFieldOfView() {
-    // Set Adventurer field of View visually
-    updateAdventurerFieldOfView();
+    framesCount++;
+    if (fieldOfViewOutdated) {
+      fieldOfViewOutdated = false;
+      // Set Adventurer field of View visually
+      updateAdventurerFieldOfView();
+      fieldOfViewUpdatesCount++;
+      fieldOfViewUpdatesInSecond++;
+      monstersVisibilityOutdated = true;
+    }
 
-    // displays/hide the Monster representation based on the Adventurer FoV
-    for (Monster monster : gameMap.getMonsters()) {
-      Position monsterPos = new Position(monster.getTileX(), monster.getTileY());
-      creaturesRepresentationMap.get(monster).setVisible(visibleTiles.contains(monsterPos));
+    if (monstersVisibilityOutdated) {
+      monstersVisibilityOutdated = false;
+      // displays/hide the Monster representation based on the Adventurer FoV
+      for (Monster monster : gameMap.getMonsters()) {
+        creaturesRepresentationMap.get(monster).setVisible(visibleTiles.contains(monster.getTileX(), monster.getTileY()));
+      }
     }
 
+    long now = System.nanoTime();
+    if (now - secondStartTime >= 1_000_000_000L) {
+      log.debug("Adventurer field of view updates in the last second: {}", fieldOfViewUpdatesInSecond);
+      fieldOfViewUpdatesInSecond = 0;
+      secondStartTime = now;
+    }
+  }
+
+  /**
+   * Marks the field of view and the visibility of the monsters as outdated whenever the creatures move, or the Adventurer turns, so that the game
+   * loop only updates them then.
+   */
+  private void listenToVisibilityChanges() {
+    Adventurer adventurer = gameMap.getAdventurer();
+    adventurer.currentPositionProperty().addListener((observable, oldValue, newValue) -> fieldOfViewOutdated = true);
+    adventurer.facingDirectionProperty().addListener((observable, oldValue, newValue) -> fieldOfViewOutdated = true);
+    for (Monster monster : gameMap.getMonsters()) {
+      monster.currentPositionProperty().addListener((observable, oldValue, newValue) -> monstersVisibilityOutdated = true);
+    }
   }
 
   /**
@@ -589,10 +637,10 @@ public class MainGameScene extends BaseScene implements Localizable {
       for (int x = 0; x < mapWidth; x++) {
         Tile tile = gameMap.getGrid()[y][x];
         Rectangle rect = new Rectangle(tileSize, tileSize);
-        rect.setFill(tile.getType() == Type.PATH ? Color.web("#B87065") : Color.web("#206600"));
+        rect.setFill(tile.getType() == Type.PATH ? PATH_COLOR : WOOD_COLOR);
         rect.setX(xOffset + x * tileSize);
         rect.setY(yOffset + y * tileSize);
-        rect.setStroke(Color.web("#4a5246")); // grey-greenish tile border
+        rect.setStroke(TILE_BORDER_COLOR);
         rect.setStrokeWidth(0.5);
         mapView.getChildren().add(rect);
         tileRectangles[y][x] = rect; // Store reference to the rectangle
@@ -632,7 +680,7 @@ public class MainGameScene extends BaseScene implements Localizable {
     for (Position pos : visibleTiles) {
       Rectangle rect = tileRectangles[pos.y()][pos.x()];
       if (gameMap.getTileTypeAt(pos.x(), pos.y()) == Type.PATH) {
-        rect.setFill(Color.web("#D8A095"));
+        rect.setFill(VISIBLE_PATH_COLOR);
       }
     }
 
@@ -1023,28 +1071,17 @@ public class MainGameScene extends BaseScene implements Localizable {
   }
 
   private void updateAdventurerFieldOfView() {
-    Set<Position> newVisibleTiles = calculateFieldOfView(gameMap.getAdventurer(), gameMap);
-    Set<Position> previouslyVisibleTiles = new HashSet<>(visibleTiles);
-
-    // Resets tiles that are no longer visible
-    for (Position pos : previouslyVisibleTiles) {
-      if (!newVisibleTiles.contains(pos)) {
-        Rectangle rect = tileRectangles[pos.y()][pos.x()];
-        if (gameMap.getTileTypeAt(pos.x(), pos.y()) == Type.PATH) {
-          rect.setFill(Color.web("#B87065")); // Original PATH color
-        }
-      }
-    }
-    // Updates newly visible tiles
-    for (Position pos : newVisibleTiles) {
-      Rectangle rect = tileRectangles[pos.y()][pos.x()];
-      if (gameMap.getTileTypeAt(pos.x(), pos.y()) == Type.PATH) {
-        rect.setFill(Color.web("#D8A095")); // Lighter PATH color
+    TileSet newVisibleTiles = calculateFieldOfView(gameMap.getAdventurer(), gameMap);
+
+    // Only repaints the tiles that appeared or disappeared: the difference of the two sets, found word by word
+    visibleTiles.forEachDifference(newVisibleTiles, (x, y) -> {
+      if (gameMap.getTileTypeAt(x, y) == Type.PATH) {
+        // Lighter PATH color for the newly visible tiles, original one for the tiles no longer visible
+        tileRectangles[y][x].setFill(newVisibleTiles.contains(x, y) ? VISIBLE_PATH_COLOR : PATH_COLOR);
       }
-    }
+    });
     // Update the stored visible tiles
-    visibleTiles.clear();
-    visibleTiles.addAll(newVisibleTiles);
+    visibleTiles.copyFrom(newVisibleTiles);
   }
 
   private void startMonsterMovement() throws MissingCreatureException, WrongTypeOfCreatureException {
@@ -1057,6 +1094,20 @@ public class MainGameScene extends BaseScene implements Localizable {
       log.info("Timeline {} stopped", timeline);
     }
     activeTimelines.clear(); // Clears list
+    log.info("Pathfinding stats for this game: {}", gameMap.getPathCache());
+    log.info("Field of view stats for this game: {}", gameMap.getFieldOfViewCache());
+    if (monsterBehaviorManager != null) {
+      log.info("Batch planning stats for this game: {}, skipped ticks: {}", monsterBehaviorManager.getPathPlanner(),
+          monsterBehaviorManager.getSkippedTicks());
+      log.info("Monster tick stats for this game, on a {}x{} map with {} monsters: {} ticks, {} µs on average, {} µs at most, fields of view: {}",
+          gameMap.getMapWidth(), gameMap.getMapHeight(), gameMap.getMonsters().size(), monsterBehaviorManager.getMovedTicks(),
+          monsterBehaviorManager.getAverageTickMicros(), monsterBehaviorManager.getMaxTickMicros(), monsterBehaviorManager.getFieldOfViewUpdater());
+    }
+    gameMap.getMonsters().stream()
+        .filter(monster -> monster.getPursuitPlanner() != null)
+        .forEach(monster -> log.info("Pursuit planner of {}: {}", monster.getName(), monster.getPursuitPlanner()));
+    gameMap.getMonsters().forEach(monster -> log.info("Planned path of {}: {}", monster.getName(), monster.getPlannedPath()));
+    log.info("Adventurer field of view updated {} times over {} frames", fieldOfViewUpdatesCount, framesCount);
   }
 
   private void startGameLoop() {
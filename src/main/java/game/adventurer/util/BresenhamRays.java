@@ -0,0 +1,104 @@
+package game.adventurer.util;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Tile.Type;
+
+/**
+ * Bresenham lines from a tile to the tiles at most {@value #RADIUS} tiles away in both directions, traced once for all offsets when the class is
+ * loaded.
+ * <p>
+ * A line only depends on the offset between its ends, so checking the sight between two tiles comes down to walking the cells of its template,
+ * without the error terms and steps of the algorithm. The template of an offset holds the cells from the origin (included) to the target
+ * (excluded), and how many of them, from the first one, are still on another row and column than the target, where the two tiles of the diagonal
+ * toward the target must be checked too.
+ */
+public class BresenhamRays {
+
+  public static final int RADIUS = LineOfSightTable.RADIUS;
+  private static final int SIDE = 2 * RADIUS + 1;
+  private static final Ray[] RAYS = buildRays();
+
+  private record Ray(int[] cellsX, int[] cellsY, int diagonalCells, int stepX, int stepY) {
+
+  }
+
+  private BresenhamRays() {
+  }
+
+  /**
+   * @return true if there is a template for the line between two tiles.
+   */
+  public static boolean covers(int originX, int originY, int targetX, int targetY) {
+    return Math.abs(targetX - originX) <= RADIUS && Math.abs(targetY - originY) <= RADIUS;
+  }
+
+  /**
+   * Tells if the Bresenham line between two tiles of the map, {@link #covers covered} by the templates, is not blocked by the woods: no WOOD tile on
+   * its cells before the target, origin included, and no diagonal step between two WOOD tiles.
+   *
+   * @return true if the target is visible from the origin.
+   */
+  public static boolean isClear(int originX, int originY, int targetX, int targetY, GameMap gameMap) {
+    Ray ray = RAYS[(targetY - originY + RADIUS) * SIDE + targetX - originX + RADIUS];
+    int woodMask = Type.WOOD.mask();
+    int[] cellsX = ray.cellsX();
+    int[] cellsY = ray.cellsY();
+    for (int i = 0; i < cellsX.length; i++) {
+      int x = originX + cellsX[i];
+      int y = originY + cellsY[i];
+      if (gameMap.isTileTypeAllowed(x, y, woodMask)) {
+        return false;
+      }
+      if (i < ray.diagonalCells()
+          && gameMap.isTileTypeAllowed(x + ray.stepX(), y, woodMask) && gameMap.isTileTypeAllowed(x, y + ray.stepY(), woodMask)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Ray[] buildRays() {
+    Ray[] rays = new Ray[SIDE * SIDE];
+    for (int targetY = -RADIUS; targetY <= RADIUS; targetY++) {
+      for (int targetX = -RADIUS; targetX <= RADIUS; targetX++) {
+        rays[(targetY + RADIUS) * SIDE + targetX + RADIUS] = traceRay(targetX, targetY);
+      }
+    }
+    return rays;
+  }
+
+  /**
+   * Traces the line from (0, 0) to an offset, with the same steps as {@link MiscUtil#calculateFieldOfView}'s lines.
+   */
+  private static Ray traceRay(int targetX, int targetY) {
+    int deltaX = Math.abs(targetX);
+    int deltaY = Math.abs(targetY);
+    int stepX = 0 < targetX ? 1 : -1;
+    int stepY = 0 < targetY ? 1 : -1;
+    int error = deltaX - deltaY;
+    int length = Math.max(deltaX, deltaY); // one cell per step, and every step moves along the longest axis
+    int[] cellsX = new int[length];
+    int[] cellsY = new int[length];
+    int diagonalCells = 0;
+    int x = 0;
+    int y = 0;
+    for (int i = 0; i < length; i++) {
+      cellsX[i] = x;
+      cellsY[i] = y;
+      if (x != targetX && y != targetY) {
+        diagonalCells = i + 1; // once on the row or column of the target, the line stays on it
+      }
+      int doubledError = 2 * error;
+      if (doubledError > -deltaY) {
+        error -= deltaY;
+        x += stepX;
+      }
+      if (doubledError < deltaX) {
+        error += deltaX;
+        y += stepY;
+      }
+    }
+    return new Ray(cellsX, cellsY, diagonalCells, stepX, stepY);
+  }
+
+}
@@ -0,0 +1,93 @@
+package game.adventurer.util;
+
+import game.adventurer.model.GameMap;
+import java.util.Arrays;
+import lombok.Getter;
+
+/**
+ * Labelling of the connected components of a map, for the tiles whose type is in a mask.
+ * <p>
+ * Every tile of the mask gets the id of its component, computed once with a flood fill, so knowing if there is a path between two tiles is a simple
+ * comparison of their labels instead of a search. Occupied tiles are not taken into account.
+ */
+public class ConnectedComponents {
+
+  public static final int NO_COMPONENT = -1;
+
+  @Getter
+  private final int tileTypesMask;
+  @Getter
+  private final long tilesVersion;
+  @Getter
+  private final int componentsCount;
+  private final int width;
+  private final int[] labels;
+
+  private ConnectedComponents(int tileTypesMask, long tilesVersion, int componentsCount, int width, int[] labels) {
+    this.tileTypesMask = tileTypesMask;
+    this.tilesVersion = tilesVersion;
+    this.componentsCount = componentsCount;
+    this.width = width;
+    this.labels = labels;
+  }
+
+  /**
+   * Labels the connected components of the tiles of a map whose type is in the mask.
+   *
+   * @param gameMap       The game map containing the grid and tile information.
+   * @param tileTypesMask The tile types that can be walked through, as built by {@link game.adventurer.model.Tile.Type#maskOf}.
+   * @return the labelling of the map.
+   */
+  public static ConnectedComponents label(GameMap gameMap, int tileTypesMask) {
+    int width = gameMap.getMapWidth();
+    int height = gameMap.getMapHeight();
+    int[] labels = new int[width * height];
+    Arrays.fill(labels, NO_COMPONENT);
+    int[] queue = new int[width * height];
+    NavigationGrid navigationGrid = gameMap.getNavigationGrid(tileTypesMask);
+    int[] neighbors = new int[4];
+    int componentsCount = 0;
+
+    for (int seed = 0; seed < labels.length; seed++) {
+      if (labels[seed] != NO_COMPONENT || !navigationGrid.isWalkable(seed)) {
+        continue;
+      }
+      // Flood fills a new component from this seed
+      int label = componentsCount++;
+      int head = 0;
+      int tail = 0;
+      labels[seed] = label;
+      queue[tail++] = seed;
+      while (head < tail) {
+        int current = queue[head++];
+        int count = navigationGrid.neighbors(current, neighbors);
+        for (int i = 0; i < count; i++) {
+          if (labels[neighbors[i]] == NO_COMPONENT) {
+            labels[neighbors[i]] = label;
+            queue[tail++] = neighbors[i];
+          }
+        }
+      }
+    }
+
+    return new ConnectedComponents(tileTypesMask, gameMap.getTilesVersion(), componentsCount, width, labels);
+  }
+
+  /**
+   * @return the component id of the tile, or {@link #NO_COMPONENT} if its type is not in the mask.
+   */
+  public int labelAt(int x, int y) {
+    return labels[y * width + x];
+  }
+
+  /**
+   * Checks if a path made of tiles of the mask exists between two tiles, both of them being in the mask.
+   *
+   * @return true if both tiles are in the same component, false otherwise.
+   */
+  public boolean areConnected(int x1, int y1, int x2, int y2) {
+    int label = labelAt(x1, y1);
+    return label != NO_COMPONENT && label == labelAt(x2, y2);
+  }
+
+}
@@ -0,0 +1,277 @@
+package game.adventurer.util;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Position;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Incremental replanner (D* Lite) for a monster pursuing a moving goal.
+ * <p>
+ * The search runs backward, from the goal to the monster: {@code g} holds the distance of each explored tile to the goal and {@code rhs} its
+ * one-step lookahead value. Between two replans, only the tiles whose edges changed are updated and the previous search is repaired instead of being
+ * started over:
+ * <ul>
+ *   <li>the monster moving only shifts the heuristic, absorbed by the {@code km} key modifier,</li>
+ *   <li>the goal moving is seen as the edge from a virtual super-goal switching from the old goal tile to the new one,</li>
+ *   <li>a tile getting occupied or freed changes the cost of the edges entering it, from its neighbors.</li>
+ * </ul>
+ * Tile type changes, or a modifier grown too large, make it start over with a full search. Occupied tiles can't be entered, the monster's own tile
+ * being the start, it is never entered anyway.
+ * <p>
+ * An instance belongs to a single monster and is not thread-safe.
+ */
+@Slf4j
+public class DStarLite {
+
+  private static final int INFINITY = Integer.MAX_VALUE;
+
+  private final GameMap gameMap;
+  @Getter
+  private final int tileTypesMask;
+  private final int width;
+  private final int height;
+  private final int keyScale;
+  /**
+   * Beyond this key modifier, keys could overflow once packed into an int, the search is then reinitialized.
+   */
+  private final int maxKeyModifier;
+  private final int[] g;
+  private final int[] rhs;
+  private final IndexedMinHeap openSet = new IndexedMinHeap();
+  private final Set<Position> knownOccupiedTiles = new HashSet<>();
+  private final int[] successors = new int[4];
+  private NavigationGrid navigationGrid;
+  private boolean initialized = false;
+  private long tilesVersion;
+  private int start;
+  private int goal;
+  private int keyModifier;
+
+  /**
+   * Number of tiles expanded by the last replan, and by all of them since the creation of the planner.
+   */
+  @Getter
+  private int lastExpandedNodes = 0;
+  @Getter
+  private long totalExpandedNodes = 0;
+  @Getter
+  private int replansCount = 0;
+  @Getter
+  private int fullSearchesCount = 0;
+
+  public DStarLite(GameMap gameMap, int tileTypesMask) {
+    this.gameMap = gameMap;
+    this.tileTypesMask = tileTypesMask;
+    this.width = gameMap.getMapWidth();
+    this.height = gameMap.getMapHeight();
+    this.keyScale = width * height + 1; // greater than any finite distance, so keys can be packed in a single int
+    this.maxKeyModifier = maxKeyModifier(width, height);
+    if (maxKeyModifier < 0) {
+      throw new IllegalArgumentException("A " + width + "x" + height + " map is too large for the keys of D* Lite to fit in an int");
+    }
+    this.g = new int[width * height];
+    this.rhs = new int[width * height];
+  }
+
+  /**
+   * @return whether a planner can be created for a map of this size, the keys of larger maps overflowing an int.
+   */
+  public static boolean supportsMapSize(int width, int height) {
+    return maxKeyModifier(width, height) >= 0;
+  }
+
+  private static int maxKeyModifier(int width, int height) {
+    int keyScale = width * height + 1;
+    // the largest key is (maxDistance + maxHeuristic + km) * keyScale + maxDistance, with maxDistance = keyScale - 1
+    return (Integer.MAX_VALUE - (keyScale - 1)) / keyScale - (keyScale - 1) - (width + height);
+  }
+
+  /**
+   * Replans the path from the monster to the goal, repairing the previous search, and returns the first step of the path.
+   *
+   * @param from The position of the monster.
+   * @param to   The position of the goal.
+   * @return the next step toward the goal, or {@code null} if it can't be reached or is already reached.
+   */
+  public Position nextStep(Position from, Position to) {
+    int newStart = from.y() * width + from.x();
+    int newGoal = to.y() * width + to.x();
+    lastExpandedNodes = 0;
+    navigationGrid = gameMap.getNavigationGrid(tileTypesMask); // rebuilt when tile types change, then the search starts over too
+
+    if (!initialized || tilesVersion != gameMap.getTilesVersion() || keyModifier > maxKeyModifier) {
+      initialize(newStart, newGoal);
+    } else {
+      replansCount++;
+      keyModifier += heuristic(start, newStart);
+      start = newStart;
+      if (newGoal != goal) {
+        int oldGoal = goal;
+        goal = newGoal;
+        updateVertex(oldGoal);
+        updateVertex(newGoal);
+      }
+      updateOccupiedTiles();
+    }
+    computeShortestPath();
+    totalExpandedNodes += lastExpandedNodes;
+    log.trace("D* Lite replan from {} to {}: {} tiles expanded", from, to, lastExpandedNodes);
+
+    if (g[start] == INFINITY || start == goal) {
+      return null;
+    }
+    int bestNeighbor = -1;
+    int bestCost = INFINITY;
+    int count = navigationGrid.neighbors(start, successors);
+    for (int i = 0; i < count; i++) {
+      int neighbor = successors[i];
+      if (g[neighbor] < bestCost && !isOccupied(neighbor)) {
+        bestCost = g[neighbor];
+        bestNeighbor = neighbor;
+      }
+    }
+    return bestNeighbor < 0 ? null : new Position(bestNeighbor % width, bestNeighbor / width);
+  }
+
+  /**
+   * @return the length of the path found by the last replan, or -1 if the goal can't be reached.
+   */
+  public int getDistanceToGoal() {
+    return !initialized || g[start] == INFINITY ? -1 : g[start];
+  }
+
+  private void initialize(int newStart, int newGoal) {
+    fullSearchesCount++;
+    Arrays.fill(g, INFINITY);
+    Arrays.fill(rhs, INFINITY);
+    openSet.reset(width * height);
+    keyModifier = 0;
+    start = newStart;
+    goal = newGoal;
+    tilesVersion = gameMap.getTilesVersion();
+    knownOccupiedTiles.clear();
+    knownOccupiedTiles.addAll(gameMap.getOccupiedTiles());
+    rhs[goal] = 0;
+    openSet.insert(goal, key(goal));
+    initialized = true;
+  }
+
+  /**
+   * Updates the neighbors of the tiles that got occupied or freed since the last replan, as the edges entering these tiles changed.
+   */
+  private void updateOccupiedTiles() {
+    Set<Position> occupiedTiles = gameMap.getOccupiedTiles();
+    if (occupiedTiles.equals(knownOccupiedTiles)) {
+      return;
+    }
+    for (Position position : occupiedTiles) {
+      if (!knownOccupiedTiles.contains(position)) {
+        updateNeighbors(position.y() * width + position.x());
+      }
+    }
+    for (Position position : knownOccupiedTiles) {
+      if (!occupiedTiles.contains(position)) {
+        updateNeighbors(position.y() * width + position.x());
+      }
+    }
+    knownOccupiedTiles.clear();
+    knownOccupiedTiles.addAll(occupiedTiles);
+  }
+
+  /**
+   * Updates the tiles whose edges toward the given one may have changed: all its neighbors, whatever their type, as the monster may stand on any.
+   */
+  private void updateNeighbors(int tile) {
+    int x = tile % width;
+    int y = tile / width;
+    if (y > 0) {
+      updateVertex(tile - width);
+    }
+    if (x < width - 1) {
+      updateVertex(tile + 1);
+    }
+    if (y < height - 1) {
+      updateVertex(tile + width);
+    }
+    if (x > 0) {
+      updateVertex(tile - 1);
+    }
+  }
+
+  private void computeShortestPath() {
+    while (!openSet.isEmpty() && (openSet.peekPriority() < startKey() || rhs[start] != g[start])) {
+      int oldKey = openSet.peekPriority();
+      int tile = openSet.poll();
+      lastExpandedNodes++;
+      int newKey = key(tile);
+      if (oldKey < newKey) {
+        openSet.insert(tile, newKey); // the key modifier grew since it was queued
+      } else if (g[tile] > rhs[tile]) {
+        g[tile] = rhs[tile];
+        updateNeighbors(tile);
+      } else {
+        g[tile] = INFINITY;
+        updateVertex(tile);
+        updateNeighbors(tile);
+      }
+    }
+  }
+
+  private void updateVertex(int tile) {
+    if (tile != goal) {
+      int best = INFINITY;
+      int count = navigationGrid.neighbors(tile, successors);
+      for (int i = 0; i < count; i++) {
+        int neighbor = successors[i];
+        if (g[neighbor] != INFINITY && g[neighbor] + 1 < best && !isOccupied(neighbor)) {
+          best = g[neighbor] + 1;
+        }
+      }
+      rhs[tile] = best;
+    } else {
+      rhs[tile] = 0;
+    }
+    if (openSet.contains(tile)) {
+      openSet.remove(tile);
+    }
+    if (g[tile] != rhs[tile]) {
+      openSet.insert(tile, key(tile));
+    }
+  }
+
+  /**
+   * Packs the D* Lite key {@code [min(g, rhs) + h + km, min(g, rhs)]} into an int, comparing keys lexicographically. Only called for tiles that are
+   * locally inconsistent, whose {@code min(g, rhs)} is finite.
+   */
+  private int key(int tile) {
+    int distance = Math.min(g[tile], rhs[tile]);
+    return (distance + heuristic(start, tile) + keyModifier) * keyScale + distance;
+  }
+
+  private long startKey() {
+    int distance = Math.min(g[start], rhs[start]);
+    return distance == INFINITY ? Long.MAX_VALUE : (long) (distance + keyModifier) * keyScale + distance;
+  }
+
+  private boolean isOccupied(int tile) {
+    return gameMap.isTileOccupied(tile % width, tile / width);
+  }
+
+  private int heuristic(int from, int to) {
+    return Math.abs(from % width - to % width) + Math.abs(from / width - to / width);
+  }
+
+  @Override
+  public String toString() {
+    return "DStarLite{" +
+        "replans=" + replansCount +
+        ", fullSearches=" + fullSearchesCount +
+        ", lastExpandedNodes=" + lastExpandedNodes +
+        ", totalExpandedNodes=" + totalExpandedNodes +
+        '}';
+  }
+}
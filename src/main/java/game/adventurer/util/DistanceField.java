@@ -0,0 +1,157 @@
+package game.adventurer.util;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Position;
+import game.adventurer.model.Tile.Type;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Distance from every tile of the map to a goal tile (a "Dijkstra map"), or to the nearest of several ones, walking only through the tile types of
+ * a mask.
+ * <p>
+ * It is computed once by a Breadth-First Search expanding from the goal, then any number of creatures sharing the same goal and allowed tile types
+ * can get closer to it by stepping on their lowest-valued neighbor, instead of each running its own search.
+ * <p>
+ * Occupied tiles are not taken into account when building the field, only when choosing the next step.
+ */
+@Slf4j
+public class DistanceField {
+
+  public static final int UNREACHABLE = -1;
+
+  @Getter
+  private final Position goal;
+  @Getter
+  private final int tileTypesMask;
+  /**
+   * Version of the tile types of the map the field was built on.
+   */
+  @Getter
+  private final long tilesVersion;
+  private final int width;
+  private final int[] distances;
+
+  private DistanceField(Position goal, int tileTypesMask, long tilesVersion, int width, int[] distances) {
+    this.goal = goal;
+    this.tileTypesMask = tileTypesMask;
+    this.tilesVersion = tilesVersion;
+    this.width = width;
+    this.distances = distances;
+  }
+
+  /**
+   * Builds the distance field toward a goal.
+   *
+   * @param gameMap       The game map containing the grid and tile information.
+   * @param goal          The position every distance is measured to.
+   * @param tileTypesMask The tile types that can be walked through, as built by {@link game.adventurer.model.Tile.Type#maskOf}.
+   * @return the distance field, where tiles that cannot reach the goal are {@link #UNREACHABLE}.
+   */
+  public static DistanceField build(GameMap gameMap, Position goal, int tileTypesMask) {
+    return build(gameMap.getNavigationGrid(tileTypesMask), goal);
+  }
+
+  /**
+   * Builds the distance field toward a goal from the navigation grid of a map only, which is immutable: unlike
+   * {@link #build(GameMap, Position, int)}, it can run outside of the thread owning the map.
+   *
+   * @param navigationGrid The navigation grid of the map for the tile types that can be walked through.
+   * @param goal           The position every distance is measured to.
+   * @return the distance field, where tiles that cannot reach the goal are {@link #UNREACHABLE}.
+   */
+  public static DistanceField build(NavigationGrid navigationGrid, Position goal) {
+    int width = navigationGrid.getWidth();
+    int[] sources = navigationGrid.isWalkable(goal.x(), goal.y()) ? new int[]{goal.y() * width + goal.x()} : new int[0];
+    int[] distances = spread(navigationGrid, sources);
+    log.debug("Distance field built toward {} for tile types mask {}", goal, navigationGrid.getTileTypesMask());
+    return new DistanceField(goal, navigationGrid.getTileTypesMask(), navigationGrid.getTilesVersion(), width, distances);
+  }
+
+  /**
+   * Builds the distance field toward the nearest tile of a type, every tile of that type being a goal.
+   *
+   * @param gameMap       The game map containing the grid and tile information.
+   * @param goalType      The type of the goal tiles.
+   * @param tileTypesMask The tile types that can be walked through, as built by {@link game.adventurer.model.Tile.Type#maskOf}.
+   * @return the distance field, without a single {@link #getGoal() goal}, where tiles that cannot reach a tile of the type are
+   *     {@link #UNREACHABLE}.
+   */
+  public static DistanceField buildToType(GameMap gameMap, Type goalType, int tileTypesMask) {
+    int width = gameMap.getMapWidth();
+    int height = gameMap.getMapHeight();
+    int[] sources = new int[0];
+    if ((goalType.mask() & tileTypesMask) != 0) {
+      sources = IntStream.range(0, width * height)
+          .filter(tile -> gameMap.getTileTypeAt(tile % width, tile / width) == goalType)
+          .toArray();
+    }
+    int[] distances = spread(gameMap.getNavigationGrid(tileTypesMask), sources);
+    log.debug("Distance field built toward the {} tiles for tile types mask {}", goalType, tileTypesMask);
+    return new DistanceField(null, tileTypesMask, gameMap.getTilesVersion(), width, distances);
+  }
+
+  /**
+   * Breadth-First Search expanding from all the sources at once, so each tile gets the distance to its nearest source.
+   */
+  private static int[] spread(NavigationGrid navigationGrid, int[] sources) {
+    int[] distances = new int[navigationGrid.getWidth() * navigationGrid.getHeight()];
+    Arrays.fill(distances, UNREACHABLE);
+
+    // Each tile is enqueued at most once
+    int[] neighbors = new int[4];
+    int[] queue = new int[distances.length];
+    int head = 0;
+    int tail = 0;
+    for (int source : sources) {
+      distances[source] = 0;
+      queue[tail++] = source;
+    }
+
+    while (head < tail) {
+      int current = queue[head++];
+      int nextDistance = distances[current] + 1;
+      int count = navigationGrid.neighbors(current, neighbors);
+      for (int i = 0; i < count; i++) {
+        if (distances[neighbors[i]] == UNREACHABLE) {
+          distances[neighbors[i]] = nextDistance;
+          queue[tail++] = neighbors[i];
+        }
+      }
+    }
+    return distances;
+  }
+
+  /**
+   * @return the number of moves needed to reach the goal from the given tile, or {@link #UNREACHABLE}.
+   */
+  public int distanceAt(int x, int y) {
+    return distances[y * width + x];
+  }
+
+  /**
+   * Finds the next step toward the goal: the unoccupied neighbor with the lowest distance, provided it is closer to the goal than the starting tile.
+   *
+   * @param from    The position of the creature.
+   * @param gameMap The game map, giving the neighbors and their occupation.
+   * @return the position of the next step, or {@code null} if no unoccupied neighbor gets closer to the goal.
+   */
+  public Position nextStep(Position from, GameMap gameMap) {
+    int bestDistance = distanceAt(from.x(), from.y());
+    int bestStep = -1;
+    int[] neighbors = new int[4];
+    int count = gameMap.getNavigationGrid(tileTypesMask).neighbors(from.y() * width + from.x(), neighbors);
+    for (int i = 0; i < count; i++) {
+      int distance = distances[neighbors[i]];
+      if (distance != UNREACHABLE && (bestDistance == UNREACHABLE || distance < bestDistance)
+          && !gameMap.isTileOccupied(neighbors[i] % width, neighbors[i] / width)) {
+        bestDistance = distance;
+        bestStep = neighbors[i];
+      }
+    }
+    return bestStep < 0 ? null : new Position(bestStep % width, bestStep / width);
+  }
+
+}
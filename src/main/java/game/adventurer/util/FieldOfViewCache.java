@@ -0,0 +1,118 @@
+package game.adventurer.util;
+
+import game.adventurer.model.creature.Creature;
+import game.adventurer.model.enums.Direction;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.Getter;
+
+/**
+ * Cache of the fields of view computed on a game map, keyed by position, facing direction and kind of creature.
+ * <p>
+ * A field of view only depends on these and on the tile types of the map, not on the occupied tiles: the entries stay valid until the tiles version
+ * of the map (bumped when a tile changes type) differs from the one they were computed with. Creatures standing still, or coming back to a tile they
+ * already saw from, thus get their field of view for the price of a lookup. The least recently used entries are dropped beyond
+ * {@value #MAX_ENTRIES} entries.
+ */
+public class FieldOfViewCache {
+
+  private static final int MAX_ENTRIES = 1024;
+
+  private record Key(int x, int y, Direction facingDirection, Class<? extends Creature> kind) {
+
+  }
+
+  private final Map<Key, TileSet> fieldsOfView = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, TileSet> eldest) {
+      return size() > MAX_ENTRIES;
+    }
+  };
+  private long tilesVersion = Long.MIN_VALUE;
+
+  @Getter
+  private long hits = 0;
+  @Getter
+  private long misses = 0;
+  @Getter
+  private long invalidations = 0;
+
+  /**
+   * Gives the field of view of a creature, computing it only if it is not cached yet for the creature's position, facing direction and kind.
+   *
+   * @param creature     The creature.
+   * @param tilesVersion The current tiles version of the map.
+   * @param computation  Computes the field of view on a cache miss.
+   * @return the visible tiles, as a frozen set shared by every creature of the same kind in the same place.
+   */
+  public TileSet get(Creature creature, long tilesVersion, Supplier<TileSet> computation) {
+    TileSet fieldOfView = find(creature, tilesVersion);
+    return fieldOfView != null ? fieldOfView : put(creature, tilesVersion, computation.get());
+  }
+
+  /**
+   * Looks up the field of view of a creature, without computing it.
+   *
+   * @param creature     The creature.
+   * @param tilesVersion The current tiles version of the map.
+   * @return the visible tiles, or {@code null} on a cache miss.
+   */
+  public TileSet find(Creature creature, long tilesVersion) {
+    invalidateIfOutdated(tilesVersion);
+    TileSet fieldOfView = fieldsOfView.get(keyOf(creature));
+    if (fieldOfView != null) {
+      hits++;
+    } else {
+      misses++;
+    }
+    return fieldOfView;
+  }
+
+  /**
+   * Caches the field of view of a creature, computed elsewhere after a {@link #find} miss.
+   *
+   * @param creature     The creature, not moved since its field of view was computed.
+   * @param tilesVersion The tiles version of the map the field of view was computed with.
+   * @param fieldOfView  The visible tiles, frozen by this call.
+   * @return the frozen visible tiles.
+   */
+  public TileSet put(Creature creature, long tilesVersion, TileSet fieldOfView) {
+    invalidateIfOutdated(tilesVersion);
+    fieldOfView.freeze();
+    fieldsOfView.put(keyOf(creature), fieldOfView);
+    return fieldOfView;
+  }
+
+  private void invalidateIfOutdated(long tilesVersion) {
+    if (tilesVersion != this.tilesVersion) {
+      if (!fieldsOfView.isEmpty()) {
+        fieldsOfView.clear();
+        invalidations++;
+      }
+      this.tilesVersion = tilesVersion;
+    }
+  }
+
+  private static Key keyOf(Creature creature) {
+    return new Key(creature.getTileX(), creature.getTileY(), creature.getFacingDirection(), creature.getClass());
+  }
+
+  /**
+   * @return the share of lookups served from the cache, between 0 and 1.
+   */
+  public double getHitRate() {
+    long lookups = hits + misses;
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+
+  @Override
+  public String toString() {
+    return "FieldOfViewCache{" +
+        "hits=" + hits +
+        ", misses=" + misses +
+        ", hitRate=" + String.format("%.2f", getHitRate()) +
+        ", invalidations=" + invalidations +
+        '}';
+  }
+}
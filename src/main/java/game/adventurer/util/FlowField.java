@@ -0,0 +1,117 @@
+package game.adventurer.util;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Position;
+import game.adventurer.model.enums.Move;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Direction to follow from every tile of the map to get closer to a goal, derived from a {@link DistanceField}.
+ * <p>
+ * The best move of each tile is chosen once when the field is built, so any number of creatures sharing the goal and allowed tile types only read
+ * their direction, instead of comparing their neighbors or running a search of their own. When the tile in that direction is occupied, the
+ * creature falls back to the other neighbors of the distance field.
+ */
+@Slf4j
+public class FlowField {
+
+  private static final Move[] MOVES = Move.values();
+  private static final byte NO_DIRECTION = -1;
+
+  @Getter
+  private final DistanceField distanceField;
+  @Getter
+  private final long tilesVersion;
+  private final int width;
+  private final byte[] directions; // Move ordinal, or NO_DIRECTION on the goal and the tiles that can't reach it
+
+  private FlowField(DistanceField distanceField, long tilesVersion, int width, byte[] directions) {
+    this.distanceField = distanceField;
+    this.tilesVersion = tilesVersion;
+    this.width = width;
+    this.directions = directions;
+  }
+
+  /**
+   * Builds the flow field of a distance field: each tile points to its neighbor closest to the goal, the first one in the order of
+   * {@link Move#values()} in case of a tie.
+   *
+   * @param gameMap       The game map containing the grid and tile information.
+   * @param distanceField The distance field toward the goal.
+   * @return the flow field.
+   */
+  public static FlowField build(GameMap gameMap, DistanceField distanceField) {
+    return build(gameMap.getNavigationGrid(distanceField.getTileTypesMask()), distanceField);
+  }
+
+  /**
+   * Builds the flow field of a distance field from the navigation grid of a map only, which is immutable: unlike
+   * {@link #build(GameMap, DistanceField)}, it can run outside of the thread owning the map.
+   *
+   * @param navigationGrid The navigation grid of the map for the tile types of the distance field.
+   * @param distanceField  The distance field toward the goal.
+   * @return the flow field.
+   */
+  public static FlowField build(NavigationGrid navigationGrid, DistanceField distanceField) {
+    int width = navigationGrid.getWidth();
+    int height = navigationGrid.getHeight();
+    byte[] directions = new byte[width * height];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int bestDistance = distanceField.distanceAt(x, y);
+        byte bestDirection = NO_DIRECTION;
+        for (int direction = 0; direction < MOVES.length; direction++) {
+          int newX = x + MOVES[direction].getDx();
+          int newY = y + MOVES[direction].getDy();
+          if (newX < 0 || newX >= width || newY < 0 || newY >= height || !navigationGrid.isWalkable(newX, newY)) {
+            continue;
+          }
+          int distance = distanceField.distanceAt(newX, newY);
+          if (distance != DistanceField.UNREACHABLE && (bestDistance == DistanceField.UNREACHABLE || distance < bestDistance)) {
+            bestDistance = distance;
+            bestDirection = (byte) direction;
+          }
+        }
+        directions[y * width + x] = bestDirection;
+      }
+    }
+    log.debug("Flow field built toward {} for tile types mask {}", distanceField.getGoal(), distanceField.getTileTypesMask());
+    return new FlowField(distanceField, navigationGrid.getTilesVersion(), width, directions);
+  }
+
+  /**
+   * @return the position of the goal the field flows to.
+   */
+  public Position getGoal() {
+    return distanceField.getGoal();
+  }
+
+  /**
+   * @return the move to make from the given tile, or {@code null} on the goal and on the tiles that can't reach it.
+   */
+  public Move directionAt(int x, int y) {
+    byte direction = directions[y * width + x];
+    return direction == NO_DIRECTION ? null : MOVES[direction];
+  }
+
+  /**
+   * Finds the next step toward the goal, following the direction of the tile unless the tile it leads to is occupied.
+   *
+   * @param from    The position of the creature.
+   * @param gameMap The game map, giving the occupied tiles.
+   * @return the position of the next step, or {@code null} if no unoccupied neighbor gets closer to the goal.
+   */
+  public Position nextStep(Position from, GameMap gameMap) {
+    Move direction = directionAt(from.x(), from.y());
+    if (direction != null) {
+      int x = from.x() + direction.getDx();
+      int y = from.y() + direction.getDy();
+      if (!gameMap.isTileOccupied(x, y)) {
+        return new Position(x, y);
+      }
+    }
+    return distanceField.nextStep(from, gameMap); // looks for another neighbor getting closer
+  }
+
+}
@@ -0,0 +1,146 @@
+package game.adventurer.util;
+
+import game.adventurer.model.Position;
+import game.adventurer.util.PathfindingUtil.TileValidator;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import lombok.Getter;
+
+/**
+ * A* engine working on flat tile indices ({@code index = y * width + x}), moving orthogonally with a uniform cost of 1 per tile and using the
+ * Manhattan distance as heuristic.
+ * <p>
+ * Costs and parents are stored in primitive arrays and the open set is an {@link IndexedMinHeap}, so improving the cost of an open tile is a true
+ * O(log n) decrease-key. The arrays are reused from one search to the next (generation stamps tell which entries belong to the current search).
+ * <p>
+ * An instance is not thread-safe, each {@link PathfindingWorkspace} holds one.
+ */
+public class GridAStar {
+
+  private int width;
+  private int start = -1;
+  private int goal = -1;
+  private int[] gCosts = new int[0];
+  private int[] parents = new int[0];
+  private int[] seenStamps = new int[0]; // gCosts and parents entries are only meaningful when stamped with the current search
+  private int[] closedStamps = new int[0];
+  private int stamp = 0;
+  private final IndexedMinHeap openSet = new IndexedMinHeap();
+  /**
+   * Number of tiles expanded by the last search.
+   */
+  @Getter
+  private int lastExpandedNodes = 0;
+
+  /**
+   * Runs an A* search between two tiles.
+   * <p>
+   * The starting tile is not submitted to the validator, every other tile of the path is.
+   *
+   * @param startX    The starting X coordinate.
+   * @param startY    The starting Y coordinate.
+   * @param goalX     The goal X coordinate.
+   * @param goalY     The goal Y coordinate.
+   * @param width     The width of the grid.
+   * @param height    The height of the grid.
+   * @param validator A TileValidator to determine if a tile can be walked through.
+   * @return The length of the shortest path, or -1 if no path exists.
+   */
+  public int search(int startX, int startY, int goalX, int goalY, int width, int height, TileValidator validator) {
+    int currentStamp = nextStamp(width * height);
+    this.width = width;
+    this.start = startY * width + startX;
+    this.goal = goalY * width + goalX;
+    lastExpandedNodes = 0;
+
+    seenStamps[start] = currentStamp;
+    gCosts[start] = 0;
+    parents[start] = -1;
+    openSet.insert(start, heuristic(startX, startY, goalX, goalY));
+
+    while (!openSet.isEmpty()) {
+      int current = openSet.poll();
+      if (current == goal) {
+        return gCosts[current];
+      }
+      closedStamps[current] = currentStamp;
+      lastExpandedNodes++;
+
+      int x = current % width;
+      int y = current / width;
+      // Uniform cost (1 per tile) for now, might change that later depending on Creature type or terrain elevation if it comes to be a thing
+      int tentativeGCost = gCosts[current] + 1;
+
+      if (y > 0) {
+        relax(current, current - width, x, y - 1, tentativeGCost, goalX, goalY, currentStamp, validator);
+      }
+      if (x < width - 1) {
+        relax(current, current + 1, x + 1, y, tentativeGCost, goalX, goalY, currentStamp, validator);
+      }
+      if (y < height - 1) {
+        relax(current, current + width, x, y + 1, tentativeGCost, goalX, goalY, currentStamp, validator);
+      }
+      if (x > 0) {
+        relax(current, current - 1, x - 1, y, tentativeGCost, goalX, goalY, currentStamp, validator);
+      }
+    }
+
+    return -1; // No path found
+  }
+
+  private void relax(int current, int neighbor, int x, int y, int tentativeGCost, int goalX, int goalY, int currentStamp,
+      TileValidator validator) {
+    if (closedStamps[neighbor] == currentStamp) {
+      return;
+    }
+    boolean seen = seenStamps[neighbor] == currentStamp;
+    if (seen && tentativeGCost >= gCosts[neighbor]) {
+      return;
+    }
+    if (!seen && !validator.isValidTile(x, y)) {
+      return;
+    }
+    seenStamps[neighbor] = currentStamp;
+    gCosts[neighbor] = tentativeGCost;
+    parents[neighbor] = current;
+    openSet.insertOrDecrease(neighbor, tentativeGCost + heuristic(x, y, goalX, goalY));
+  }
+
+  /**
+   * Rebuilds the path found by the last successful {@link #search}.
+   *
+   * @return the positions from the first step after the start to the goal included, in walking order.
+   */
+  public LinkedHashSet<Position> lastPath() {
+    int length = gCosts[goal];
+    Position[] steps = new Position[length];
+    int current = goal;
+    for (int i = length - 1; i >= 0; i--) {
+      steps[i] = new Position(current % width, current / width);
+      current = parents[current];
+    }
+    return new LinkedHashSet<>(Arrays.asList(steps));
+  }
+
+  private static int heuristic(int x, int y, int goalX, int goalY) {
+    return Math.abs(x - goalX) + Math.abs(y - goalY);
+  }
+
+  private int nextStamp(int tilesCount) {
+    if (gCosts.length < tilesCount) {
+      gCosts = new int[tilesCount];
+      parents = new int[tilesCount];
+      seenStamps = new int[tilesCount];
+      closedStamps = new int[tilesCount];
+      stamp = 0;
+    }
+    if (stamp == Integer.MAX_VALUE) {
+      Arrays.fill(seenStamps, 0);
+      Arrays.fill(closedStamps, 0);
+      stamp = 0;
+    }
+    openSet.reset(tilesCount);
+    return ++stamp;
+  }
+
+}
@@ -0,0 +1,206 @@
+package game.adventurer.util;
+
+import game.adventurer.model.Position;
+import game.adventurer.util.PathfindingUtil.TileValidator;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+/**
+ * Jump Point Search engine for grids where creatures only move orthogonally with a uniform cost of 1 per tile.
+ * <p>
+ * It is an A* where, instead of pushing every neighbor to the open set, each direction is followed ("jumped") until a tile where the path could
+ * have to turn: the goal, or a tile having a forced neighbor (a side tile that was blocked just behind). Symmetric paths across open areas are thus
+ * never expanded, and the returned path is rebuilt by filling the straight segments between jump points.
+ * <p>
+ * Like {@link GridAStar}, it works on flat tile indices with primitive, generation-stamped arrays and an {@link IndexedMinHeap}. An instance is not
+ * thread-safe, each {@link PathfindingWorkspace} holds one.
+ */
+public class GridJumpPointSearch {
+
+  private int width;
+  private int height;
+  private int goalX;
+  private int goalY;
+  private int start = -1;
+  private int goal = -1;
+  private TileValidator validator;
+  private int[] gCosts = new int[0];
+  private int[] parents = new int[0];
+  private int[] seenStamps = new int[0];
+  private int[] closedStamps = new int[0];
+  private int stamp = 0;
+  private final IndexedMinHeap openSet = new IndexedMinHeap();
+
+  /**
+   * Runs a Jump Point Search between two tiles.
+   * <p>
+   * The starting tile is not submitted to the validator, every other tile of the path is.
+   *
+   * @param startX    The starting X coordinate.
+   * @param startY    The starting Y coordinate.
+   * @param goalX     The goal X coordinate.
+   * @param goalY     The goal Y coordinate.
+   * @param width     The width of the grid.
+   * @param height    The height of the grid.
+   * @param validator A TileValidator to determine if a tile can be walked through.
+   * @return The length of the shortest path, or -1 if no path exists.
+   */
+  public int search(int startX, int startY, int goalX, int goalY, int width, int height, TileValidator validator) {
+    int currentStamp = nextStamp(width * height);
+    this.width = width;
+    this.height = height;
+    this.goalX = goalX;
+    this.goalY = goalY;
+    this.validator = validator;
+    this.start = startY * width + startX;
+    this.goal = goalY * width + goalX;
+
+    try {
+      seenStamps[start] = currentStamp;
+      gCosts[start] = 0;
+      parents[start] = -1;
+      openSet.insert(start, heuristic(startX, startY));
+
+      while (!openSet.isEmpty()) {
+        int current = openSet.poll();
+        if (current == goal) {
+          return gCosts[current];
+        }
+        closedStamps[current] = currentStamp;
+        identifySuccessors(current, currentStamp);
+      }
+      return -1; // No path found
+    } finally {
+      this.validator = null; // the validator usually captures the game map, don't keep it alive
+    }
+  }
+
+  private void identifySuccessors(int current, int currentStamp) {
+    int x = current % width;
+    int y = current / width;
+    int parent = parents[current];
+
+    if (parent < 0) {
+      // the start tile: every direction is explored
+      jumpFrom(current, x, y, x, y - 1, currentStamp);
+      jumpFrom(current, x, y, x + 1, y, currentStamp);
+      jumpFrom(current, x, y, x, y + 1, currentStamp);
+      jumpFrom(current, x, y, x - 1, y, currentStamp);
+      return;
+    }
+
+    int dx = Integer.signum(x - parent % width);
+    int dy = Integer.signum(y - parent / width);
+    if (dx != 0) {
+      // moving horizontally: keep going, or turn to either side
+      jumpFrom(current, x, y, x, y - 1, currentStamp);
+      jumpFrom(current, x, y, x, y + 1, currentStamp);
+      jumpFrom(current, x, y, x + dx, y, currentStamp);
+    } else {
+      // moving vertically
+      jumpFrom(current, x, y, x - 1, y, currentStamp);
+      jumpFrom(current, x, y, x + 1, y, currentStamp);
+      jumpFrom(current, x, y, x, y + dy, currentStamp);
+    }
+  }
+
+  private void jumpFrom(int current, int x, int y, int nextX, int nextY, int currentStamp) {
+    int jumpPoint = jump(nextX, nextY, nextX - x, nextY - y);
+    if (jumpPoint < 0 || closedStamps[jumpPoint] == currentStamp) {
+      return;
+    }
+    int jumpX = jumpPoint % width;
+    int jumpY = jumpPoint / width;
+    // jump points are always in a straight line from the tile they are reached from
+    int tentativeGCost = gCosts[current] + Math.abs(jumpX - x) + Math.abs(jumpY - y);
+    if (seenStamps[jumpPoint] != currentStamp || tentativeGCost < gCosts[jumpPoint]) {
+      seenStamps[jumpPoint] = currentStamp;
+      gCosts[jumpPoint] = tentativeGCost;
+      parents[jumpPoint] = current;
+      openSet.insertOrDecrease(jumpPoint, tentativeGCost + heuristic(jumpX, jumpY));
+    }
+  }
+
+  /**
+   * Follows a direction from a tile until a jump point is found.
+   *
+   * @return the index of the jump point, or -1 if the direction leads to a dead end.
+   */
+  private int jump(int x, int y, int dx, int dy) {
+    while (isWalkable(x, y)) {
+      if (x == goalX && y == goalY) {
+        return y * width + x;
+      }
+      if (dx != 0) {
+        // a side tile that was blocked one step behind can only be reached optimally by turning here
+        if ((isWalkable(x, y - 1) && !isWalkable(x - dx, y - 1)) || (isWalkable(x, y + 1) && !isWalkable(x - dx, y + 1))) {
+          return y * width + x;
+        }
+      } else {
+        if ((isWalkable(x - 1, y) && !isWalkable(x - 1, y - dy)) || (isWalkable(x + 1, y) && !isWalkable(x + 1, y - dy))) {
+          return y * width + x;
+        }
+        // when moving vertically, a horizontal jump point also makes this tile a jump point
+        if (jump(x + 1, y, 1, 0) >= 0 || jump(x - 1, y, -1, 0) >= 0) {
+          return y * width + x;
+        }
+      }
+      x += dx;
+      y += dy;
+    }
+    return -1;
+  }
+
+  private boolean isWalkable(int x, int y) {
+    return x >= 0 && x < width && y >= 0 && y < height && validator.isValidTile(x, y);
+  }
+
+  /**
+   * Rebuilds the path found by the last successful {@link #search}, filling the straight segments between jump points.
+   *
+   * @return the positions from the first step after the start to the goal included, in walking order.
+   */
+  public LinkedHashSet<Position> lastPath() {
+    int length = gCosts[goal];
+    Position[] steps = new Position[length];
+    int i = length - 1;
+    int current = goal;
+    while (current != start) {
+      int parent = parents[current];
+      int x = current % width;
+      int y = current / width;
+      int dx = Integer.signum(parent % width - x);
+      int dy = Integer.signum(parent / width - y);
+      // walks back from the jump point to its parent, which is excluded as it ends the previous segment (or is the start)
+      while (y * width + x != parent) {
+        steps[i--] = new Position(x, y);
+        x += dx;
+        y += dy;
+      }
+      current = parent;
+    }
+    return new LinkedHashSet<>(Arrays.asList(steps));
+  }
+
+  private int heuristic(int x, int y) {
+    return Math.abs(x - goalX) + Math.abs(y - goalY);
+  }
+
+  private int nextStamp(int tilesCount) {
+    if (gCosts.length < tilesCount) {
+      gCosts = new int[tilesCount];
+      parents = new int[tilesCount];
+      seenStamps = new int[tilesCount];
+      closedStamps = new int[tilesCount];
+      stamp = 0;
+    }
+    if (stamp == Integer.MAX_VALUE) {
+      Arrays.fill(seenStamps, 0);
+      Arrays.fill(closedStamps, 0);
+      stamp = 0;
+    }
+    openSet.reset(tilesCount);
+    return ++stamp;
+  }
+
+}
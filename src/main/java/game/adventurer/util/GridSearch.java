@@ -0,0 +1,187 @@
+package game.adventurer.util;
+
+import game.adventurer.model.Position;
+import game.adventurer.util.PathfindingUtil.TileValidator;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+/**
+ * Breadth-First Search engine working on flat tile indices ({@code index = y * width + x}).
+ * <p>
+ * All the working memory is made of primitive arrays sized to the map: a single {@code int[]} queue and a generation-stamped visited array. The
+ * arrays are only reallocated when a bigger map is searched, and a new search "clears" them in O(1) by bumping the stamp, so a search performs no
+ * allocation per visited tile.
+ * <p>
+ * An instance is not thread-safe, each {@link PathfindingWorkspace} holds one.
+ */
+public class GridSearch {
+
+  private int[] queue = new int[0];
+  private int[] distances = new int[0];
+  private int[] visitedStamps = new int[0];
+  private int[] parents = new int[0];
+  private int[] targetStamps = new int[0];
+  private int stamp = 0;
+  private int width;
+  private int start = -1;
+  private int lastTarget = -1;
+
+  /**
+   * Computes the length of the shortest path between two tiles, moving orthogonally.
+   * <p>
+   * The starting tile is not submitted to the validator, every other tile of the path is.
+   *
+   * @param startX    The starting X coordinate.
+   * @param startY    The starting Y coordinate.
+   * @param endX      The ending X coordinate.
+   * @param endY      The ending Y coordinate.
+   * @param width     The width of the grid.
+   * @param height    The height of the grid.
+   * @param validator A TileValidator to determine if a tile is valid for the path.
+   * @return The length of the shortest path, or -1 if no path exists.
+   */
+  public int distance(int startX, int startY, int endX, int endY, int width, int height, TileValidator validator) {
+    int tilesCount = width * height;
+    int currentStamp = nextStamp(tilesCount);
+    int start = startY * width + startX;
+    int end = endY * width + endX;
+
+    // Each tile is enqueued at most once, so head and tail never go past the end of the queue
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = start;
+    visitedStamps[start] = currentStamp;
+    distances[start] = 0;
+
+    while (head < tail) {
+      int current = queue[head++];
+      if (current == end) {
+        return distances[current];
+      }
+      int x = current % width;
+      int y = current / width;
+      int nextDistance = distances[current] + 1;
+
+      // Up, Right, Down, Left
+      if (y > 0) {
+        tail = visit(current - width, x, y - 1, nextDistance, currentStamp, tail, validator);
+      }
+      if (x < width - 1) {
+        tail = visit(current + 1, x + 1, y, nextDistance, currentStamp, tail, validator);
+      }
+      if (y < height - 1) {
+        tail = visit(current + width, x, y + 1, nextDistance, currentStamp, tail, validator);
+      }
+      if (x > 0) {
+        tail = visit(current - 1, x - 1, y, nextDistance, currentStamp, tail, validator);
+      }
+    }
+
+    return -1; // No path found
+  }
+
+  /**
+   * Expands once from a tile and stops at the first of the target tiles reached, which is the closest one, moving orthogonally.
+   * <p>
+   * The starting tile is not submitted to the validator and never counts as a target, every other tile of the path is validated.
+   *
+   * @param startX    The starting X coordinate.
+   * @param startY    The starting Y coordinate.
+   * @param targets   The tile indices of the targets.
+   * @param width     The width of the grid.
+   * @param height    The height of the grid.
+   * @param validator A TileValidator to determine if a tile is valid for the path.
+   * @return The tile index of the closest target, or -1 if none can be reached. The path to it is then given by {@link #lastPath()}.
+   */
+  public int nearest(int startX, int startY, int[] targets, int width, int height, TileValidator validator) {
+    int currentStamp = nextStamp(width * height);
+    this.width = width;
+    this.start = startY * width + startX;
+    this.lastTarget = -1;
+    for (int target : targets) {
+      targetStamps[target] = currentStamp;
+    }
+
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = start;
+    visitedStamps[start] = currentStamp;
+    distances[start] = 0;
+    parents[start] = -1;
+
+    while (head < tail) {
+      int current = queue[head++];
+      if (current != start && targetStamps[current] == currentStamp) {
+        lastTarget = current;
+        return current;
+      }
+      int x = current % width;
+      int y = current / width;
+      int nextDistance = distances[current] + 1;
+
+      if (y > 0) {
+        tail = visit(current - width, x, y - 1, nextDistance, currentStamp, tail, validator, current);
+      }
+      if (x < width - 1) {
+        tail = visit(current + 1, x + 1, y, nextDistance, currentStamp, tail, validator, current);
+      }
+      if (y < height - 1) {
+        tail = visit(current + width, x, y + 1, nextDistance, currentStamp, tail, validator, current);
+      }
+      if (x > 0) {
+        tail = visit(current - 1, x - 1, y, nextDistance, currentStamp, tail, validator, current);
+      }
+    }
+
+    return -1; // No target reached
+  }
+
+  /**
+   * Rebuilds the path to the target found by the last successful {@link #nearest} search.
+   *
+   * @return the positions from the first step after the start to the target included, in walking order.
+   */
+  public LinkedHashSet<Position> lastPath() {
+    Position[] steps = new Position[distances[lastTarget]];
+    for (int current = lastTarget, i = steps.length - 1; current != start; current = parents[current], i--) {
+      steps[i] = new Position(current % width, current / width);
+    }
+    return new LinkedHashSet<>(Arrays.asList(steps));
+  }
+
+  private int visit(int index, int x, int y, int distance, int currentStamp, int tail, TileValidator validator) {
+    return visit(index, x, y, distance, currentStamp, tail, validator, -1);
+  }
+
+  private int visit(int index, int x, int y, int distance, int currentStamp, int tail, TileValidator validator, int parent) {
+    if (visitedStamps[index] != currentStamp && validator.isValidTile(x, y)) {
+      visitedStamps[index] = currentStamp;
+      distances[index] = distance;
+      parents[index] = parent;
+      queue[tail++] = index;
+    }
+    return tail;
+  }
+
+  /**
+   * Makes sure the arrays can hold the given number of tiles and returns a fresh stamp for the new search.
+   */
+  private int nextStamp(int tilesCount) {
+    if (queue.length < tilesCount) {
+      queue = new int[tilesCount];
+      distances = new int[tilesCount];
+      visitedStamps = new int[tilesCount];
+      parents = new int[tilesCount];
+      targetStamps = new int[tilesCount];
+      stamp = 0;
+    }
+    if (stamp == Integer.MAX_VALUE) {
+      // very unlikely, but stamps from previous searches must not be mistaken for the current one
+      Arrays.fill(visitedStamps, 0);
+      Arrays.fill(targetStamps, 0);
+      stamp = 0;
+    }
+    return ++stamp;
+  }
+
+}
@@ -0,0 +1,448 @@
+package game.adventurer.util;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Position;
+import game.adventurer.util.PathfindingUtil.TileValidator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hierarchical pathfinder (HPA*) for a game map and a tile types mask.
+ * <p>
+ * The map is split into square clusters of {@value #CLUSTER_SIZE} tiles per side, the same 25-tile quadrants used to place the monsters. Each
+ * stretch of walkable tiles along the border of two clusters gives an entrance: a pair of facing tiles, one in each cluster. An abstract graph links
+ * the entrances of a cluster together (with their distance inside the cluster) and to the facing entrance of the neighbor cluster.
+ * <p>
+ * Finding a path is then a search over this small graph, and only the first leg (from the start to the first entrance on the way) is refined into
+ * actual tiles, which is all a creature moving one tile per tick needs. When tiles change type, only the clusters they belong to and their
+ * neighbors are rebuilt. Occupied tiles are ignored by the abstract graph, they are only avoided when refining the first leg.
+ */
+@Slf4j
+public class HierarchicalPathfinder {
+
+  public static final int CLUSTER_SIZE = 5;
+  private static final int NOT_CONNECTED = -1;
+  private static final int FROM_START = -1; // parent of the nodes reached directly from the start tile
+  private static final int[][] DELTAS = {{0, -1}, {1, 0}, {0, 1}, {-1, 0}};
+
+  private final GameMap gameMap;
+  @Getter
+  private final int tileTypesMask;
+  private final int width;
+  private final int height;
+  private final int clustersPerRow;
+  private final int clustersPerColumn;
+  /**
+   * Entrances on the border between a cluster and its east (respectively south) neighbor, as pairs of tile indices: {@code [tileInCluster,
+   * tileInNeighbor, ...]}.
+   */
+  private final int[][] eastEntrances;
+  private final int[][] southEntrances;
+  /**
+   * Entrance tiles of each cluster, and the distances between them without leaving the cluster.
+   */
+  private final int[][] clusterNodes;
+  private final int[][][] intraDistances;
+  /**
+   * Index of each abstract node, in the arrays of the search: the nodes of a cluster are numbered from the offset of the cluster, in the order of
+   * {@link #clusterNodes}. The goal of a search takes the index following the last node. Each node also knows its tile, and the nodes facing it in
+   * the neighbor clusters.
+   */
+  private final int[] nodeOffsets;
+  private int[] nodeTiles;
+  private int[][] facingNodes;
+  private final Set<Integer> dirtyClusters = new HashSet<>();
+  private final int[] localQueue = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+  private final int[] localDistances = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+  private final GridAStar aStar = new GridAStar();
+  private final IndexedMinHeap openSet = new IndexedMinHeap();
+  private int[] gCosts = new int[0];
+  private int[] parents = new int[0];
+  private boolean[] closed = new boolean[0];
+
+  /**
+   * Number of abstract nodes expanded by the last call to {@link #firstLeg}.
+   */
+  @Getter
+  private int lastExpandedNodes = 0;
+
+  public HierarchicalPathfinder(GameMap gameMap, int tileTypesMask) {
+    this.gameMap = gameMap;
+    this.tileTypesMask = tileTypesMask;
+    this.width = gameMap.getMapWidth();
+    this.height = gameMap.getMapHeight();
+    this.clustersPerRow = (width + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+    this.clustersPerColumn = (height + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+    int clustersCount = clustersPerRow * clustersPerColumn;
+    this.eastEntrances = new int[clustersCount][];
+    this.southEntrances = new int[clustersCount][];
+    this.clusterNodes = new int[clustersCount][];
+    this.intraDistances = new int[clustersCount][][];
+    this.nodeOffsets = new int[clustersCount + 1];
+
+    for (int cluster = 0; cluster < clustersCount; cluster++) {
+      eastEntrances[cluster] = findEastEntrances(cluster);
+      southEntrances[cluster] = findSouthEntrances(cluster);
+    }
+    for (int cluster = 0; cluster < clustersCount; cluster++) {
+      buildCluster(cluster);
+    }
+    indexNodes();
+    log.debug("Hierarchical graph built for tile types mask {}: {} clusters", tileTypesMask, clustersCount);
+  }
+
+  /**
+   * Marks the cluster of a tile whose type changed, it will be rebuilt before the next search.
+   */
+  public void markDirty(int x, int y) {
+    dirtyClusters.add(clusterOf(y * width + x));
+  }
+
+  /**
+   * Rebuilds the entrances of the dirty clusters, then the nodes and inner distances of these clusters and of their neighbors, whose entrances on
+   * the shared borders may have changed.
+   */
+  private void rebuildDirtyClusters() {
+    if (dirtyClusters.isEmpty()) {
+      return;
+    }
+    Set<Integer> affectedClusters = new HashSet<>();
+    for (int cluster : dirtyClusters) {
+      int clusterX = cluster % clustersPerRow;
+      int clusterY = cluster / clustersPerRow;
+      eastEntrances[cluster] = findEastEntrances(cluster);
+      southEntrances[cluster] = findSouthEntrances(cluster);
+      affectedClusters.add(cluster);
+      if (clusterX > 0) {
+        eastEntrances[cluster - 1] = findEastEntrances(cluster - 1);
+        affectedClusters.add(cluster - 1);
+      }
+      if (clusterY > 0) {
+        southEntrances[cluster - clustersPerRow] = findSouthEntrances(cluster - clustersPerRow);
+        affectedClusters.add(cluster - clustersPerRow);
+      }
+      if (clusterX < clustersPerRow - 1) {
+        affectedClusters.add(cluster + 1);
+      }
+      if (clusterY < clustersPerColumn - 1) {
+        affectedClusters.add(cluster + clustersPerRow);
+      }
+    }
+    for (int cluster : affectedClusters) {
+      buildCluster(cluster);
+    }
+    indexNodes();
+    log.debug("Rebuilt {} clusters of the hierarchical graph", affectedClusters.size());
+    dirtyClusters.clear();
+  }
+
+  private int[] findEastEntrances(int cluster) {
+    int clusterX = cluster % clustersPerRow;
+    int clusterY = cluster / clustersPerRow;
+    if (clusterX == clustersPerRow - 1) {
+      return new int[0];
+    }
+    int x = (clusterX + 1) * CLUSTER_SIZE - 1; // last column of the cluster
+    int fromY = clusterY * CLUSTER_SIZE;
+    int toY = Math.min(fromY + CLUSTER_SIZE, height);
+    List<Integer> entrances = new ArrayList<>();
+    int runStart = -1;
+    for (int y = fromY; y <= toY; y++) {
+      boolean open = y < toY && isWalkable(x, y) && isWalkable(x + 1, y);
+      if (open && runStart < 0) {
+        runStart = y;
+      } else if (!open && runStart >= 0) {
+        // one entrance in the middle of each open stretch of the border
+        int middle = (runStart + y - 1) / 2;
+        entrances.add(middle * width + x);
+        entrances.add(middle * width + x + 1);
+        runStart = -1;
+      }
+    }
+    return entrances.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  private int[] findSouthEntrances(int cluster) {
+    int clusterX = cluster % clustersPerRow;
+    int clusterY = cluster / clustersPerRow;
+    if (clusterY == clustersPerColumn - 1) {
+      return new int[0];
+    }
+    int y = (clusterY + 1) * CLUSTER_SIZE - 1; // last row of the cluster
+    int fromX = clusterX * CLUSTER_SIZE;
+    int toX = Math.min(fromX + CLUSTER_SIZE, width);
+    List<Integer> entrances = new ArrayList<>();
+    int runStart = -1;
+    for (int x = fromX; x <= toX; x++) {
+      boolean open = x < toX && isWalkable(x, y) && isWalkable(x, y + 1);
+      if (open && runStart < 0) {
+        runStart = x;
+      } else if (!open && runStart >= 0) {
+        int middle = (runStart + x - 1) / 2;
+        entrances.add(y * width + middle);
+        entrances.add((y + 1) * width + middle);
+        runStart = -1;
+      }
+    }
+    return entrances.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /**
+   * Gathers the entrance tiles of a cluster from its four borders, then computes the distances between them inside the cluster.
+   */
+  private void buildCluster(int cluster) {
+    int clusterX = cluster % clustersPerRow;
+    int clusterY = cluster / clustersPerRow;
+    Set<Integer> nodes = new LinkedHashSet<>();
+    addSide(nodes, eastEntrances[cluster], 0);
+    addSide(nodes, southEntrances[cluster], 0);
+    if (clusterX > 0) {
+      addSide(nodes, eastEntrances[cluster - 1], 1);
+    }
+    if (clusterY > 0) {
+      addSide(nodes, southEntrances[cluster - clustersPerRow], 1);
+    }
+    int[] nodesArray = nodes.stream().mapToInt(Integer::intValue).toArray();
+    int[][] distances = new int[nodesArray.length][];
+    for (int i = 0; i < nodesArray.length; i++) {
+      distances[i] = distancesInCluster(nodesArray[i], nodesArray, cluster);
+    }
+    clusterNodes[cluster] = nodesArray;
+    intraDistances[cluster] = distances;
+  }
+
+  private static void addSide(Set<Integer> nodes, int[] entrances, int side) {
+    for (int i = side; i < entrances.length; i += 2) {
+      nodes.add(entrances[i]);
+    }
+  }
+
+  /**
+   * Numbers the abstract nodes of all the clusters, and links each of them to the nodes facing it. Called whenever clusters are rebuilt, the search
+   * then only works on the indices.
+   */
+  private void indexNodes() {
+    int clustersCount = clusterNodes.length;
+    for (int cluster = 0; cluster < clustersCount; cluster++) {
+      nodeOffsets[cluster + 1] = nodeOffsets[cluster] + clusterNodes[cluster].length;
+    }
+    int nodesCount = nodeOffsets[clustersCount];
+    nodeTiles = new int[nodesCount];
+    facingNodes = new int[nodesCount][];
+    for (int cluster = 0; cluster < clustersCount; cluster++) {
+      int[] nodes = clusterNodes[cluster];
+      for (int i = 0; i < nodes.length; i++) {
+        int node = nodeOffsets[cluster] + i;
+        nodeTiles[node] = nodes[i];
+        facingNodes[node] = facingEntrances(nodes[i], cluster).stream()
+            .mapToInt(facing -> nodeOffsets[clusterOf(facing)] + indexOf(clusterNodes[clusterOf(facing)], facing))
+            .toArray();
+      }
+    }
+    if (gCosts.length < nodesCount + 1) {
+      gCosts = new int[nodesCount + 1];
+      parents = new int[nodesCount + 1];
+      closed = new boolean[nodesCount + 1];
+    }
+  }
+
+  /**
+   * Breadth-First Search from a tile, without leaving its cluster.
+   *
+   * @return the distance from the tile to each of the targets, {@link #NOT_CONNECTED} for those that can't be reached inside the cluster.
+   */
+  private int[] distancesInCluster(int from, int[] targets, int cluster) {
+    int fromX = (cluster % clustersPerRow) * CLUSTER_SIZE;
+    int fromY = (cluster / clustersPerRow) * CLUSTER_SIZE;
+    int clusterWidth = Math.min(CLUSTER_SIZE, width - fromX);
+    int clusterHeight = Math.min(CLUSTER_SIZE, height - fromY);
+    Arrays.fill(localDistances, NOT_CONNECTED);
+
+    int head = 0;
+    int tail = 0;
+    int local = (from / width - fromY) * CLUSTER_SIZE + (from % width - fromX);
+    localDistances[local] = 0;
+    localQueue[tail++] = local;
+    while (head < tail) {
+      int current = localQueue[head++];
+      int localX = current % CLUSTER_SIZE;
+      int localY = current / CLUSTER_SIZE;
+      for (int[] delta : DELTAS) {
+        int nextX = localX + delta[0];
+        int nextY = localY + delta[1];
+        int next = nextY * CLUSTER_SIZE + nextX;
+        if (nextX >= 0 && nextX < clusterWidth && nextY >= 0 && nextY < clusterHeight
+            && localDistances[next] == NOT_CONNECTED && isWalkable(fromX + nextX, fromY + nextY)) {
+          localDistances[next] = localDistances[current] + 1;
+          localQueue[tail++] = next;
+        }
+      }
+    }
+
+    int[] distances = new int[targets.length];
+    for (int i = 0; i < targets.length; i++) {
+      distances[i] = localDistances[(targets[i] / width - fromY) * CLUSTER_SIZE + (targets[i] % width - fromX)];
+    }
+    return distances;
+  }
+
+  /**
+   * Finds the first leg of a path toward a goal located in another cluster: the steps from the start to the first entrance of the abstract path.
+   *
+   * @param start         The starting position.
+   * @param goal          The goal position.
+   * @param stepValidator Validates the tiles of the refined leg, typically refusing the occupied ones. The tile types of the mask are already
+   *                      checked.
+   * @return the steps of the first leg, in walking order, an empty set if the goal can't be reached, or {@code null} if the hierarchical search
+   *     doesn't apply (start and goal in the same cluster) or if the first leg can't be walked (blocked by occupied tiles).
+   */
+  public LinkedHashSet<Position> firstLeg(Position start, Position goal, TileValidator stepValidator) {
+    rebuildDirtyClusters();
+    lastExpandedNodes = 0;
+    int startTile = start.y() * width + start.x();
+    int goalTile = goal.y() * width + goal.x();
+    int startCluster = clusterOf(startTile);
+    int goalCluster = clusterOf(goalTile);
+    if (startCluster == goalCluster) {
+      return null;
+    }
+    if (!isWalkable(goal.x(), goal.y())) {
+      return new LinkedHashSet<>();
+    }
+
+    int[] startNodes = clusterNodes[startCluster];
+    int[] startCosts = distancesInCluster(startTile, startNodes, startCluster);
+    int[] goalNodes = clusterNodes[goalCluster];
+    int[] goalCosts = distancesInCluster(goalTile, goalNodes, goalCluster);
+
+    // A* over the abstract graph, the goal tile is linked to the entrances of its cluster
+    int nodesCount = nodeTiles.length;
+    int goalNode = nodesCount;
+    Arrays.fill(gCosts, 0, nodesCount + 1, Integer.MAX_VALUE);
+    Arrays.fill(closed, 0, nodesCount + 1, false);
+    openSet.reset(nodesCount + 1);
+    for (int i = 0; i < startNodes.length; i++) {
+      if (startCosts[i] != NOT_CONNECTED) {
+        relax(FROM_START, nodeOffsets[startCluster] + i, startCosts[i], goalTile);
+      }
+    }
+
+    boolean found = false;
+    while (!openSet.isEmpty()) {
+      int current = openSet.poll();
+      if (current == goalNode) {
+        found = true;
+        break;
+      }
+      closed[current] = true;
+      lastExpandedNodes++;
+      int currentCost = gCosts[current];
+      int cluster = clusterOf(nodeTiles[current]);
+      int index = current - nodeOffsets[cluster];
+
+      if (cluster == goalCluster && goalCosts[index] != NOT_CONNECTED) {
+        relax(current, goalNode, currentCost + goalCosts[index], goalTile);
+      }
+      int[] distances = intraDistances[cluster][index];
+      for (int i = 0; i < distances.length; i++) {
+        if (distances[i] > 0) {
+          relax(current, nodeOffsets[cluster] + i, currentCost + distances[i], goalTile);
+        }
+      }
+      for (int facing : facingNodes[current]) {
+        relax(current, facing, currentCost + 1, goalTile);
+      }
+    }
+    log.trace("HPA* from {} to {}: {} abstract nodes expanded", start, goal, lastExpandedNodes);
+    if (!found) {
+      return new LinkedHashSet<>();
+    }
+
+    // Finds the first abstract node after the start. When the start is an entrance itself, its node is skipped: the node found is still another one
+    int firstNode = goalNode;
+    while (parents[firstNode] != FROM_START && nodeTiles[parents[firstNode]] != startTile) {
+      firstNode = parents[firstNode];
+    }
+    return refine(startTile, nodeTiles[firstNode], startCluster, stepValidator);
+  }
+
+  private void relax(int current, int next, int cost, int goalTile) {
+    if (!closed[next] && cost < gCosts[next]) {
+      gCosts[next] = cost;
+      parents[next] = current;
+      int heuristic = next == nodeTiles.length ? 0 : heuristic(nodeTiles[next], goalTile);
+      openSet.insertOrDecrease(next, cost + heuristic);
+    }
+  }
+
+  /**
+   * Turns the first leg into actual steps. The leg either crosses a border (a single step) or stays in the start cluster.
+   */
+  private LinkedHashSet<Position> refine(int startTile, int target, int startCluster, TileValidator stepValidator) {
+    int targetX = target % width;
+    int targetY = target / width;
+    if (clusterOf(target) != startCluster) {
+      if (!stepValidator.isValidTile(targetX, targetY)) {
+        return null;
+      }
+      LinkedHashSet<Position> step = new LinkedHashSet<>();
+      step.add(new Position(targetX, targetY));
+      return step;
+    }
+    int distance = aStar.search(startTile % width, startTile / width, targetX, targetY, width, height,
+        (x, y) -> clusterOf(y * width + x) == startCluster && isWalkable(x, y) && stepValidator.isValidTile(x, y));
+    return distance < 0 ? null : aStar.lastPath();
+  }
+
+  /**
+   * @return the entrances facing the given one in the neighbor clusters.
+   */
+  private List<Integer> facingEntrances(int tile, int cluster) {
+    List<Integer> facing = new ArrayList<>(2);
+    addFacing(facing, eastEntrances[cluster], tile, 0);
+    addFacing(facing, southEntrances[cluster], tile, 0);
+    if (cluster % clustersPerRow > 0) {
+      addFacing(facing, eastEntrances[cluster - 1], tile, 1);
+    }
+    if (cluster / clustersPerRow > 0) {
+      addFacing(facing, southEntrances[cluster - clustersPerRow], tile, 1);
+    }
+    return facing;
+  }
+
+  private static void addFacing(List<Integer> facing, int[] entrances, int tile, int side) {
+    for (int i = side; i < entrances.length; i += 2) {
+      if (entrances[i] == tile) {
+        facing.add(entrances[i + 1 - 2 * side]);
+      }
+    }
+  }
+
+  private static int indexOf(int[] nodes, int tile) {
+    for (int i = 0; i < nodes.length; i++) {
+      if (nodes[i] == tile) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private int clusterOf(int tile) {
+    return (tile / width / CLUSTER_SIZE) * clustersPerRow + (tile % width / CLUSTER_SIZE);
+  }
+
+  private int heuristic(int tile, int goalTile) {
+    return Math.abs(tile % width - goalTile % width) + Math.abs(tile / width - goalTile / width);
+  }
+
+  private boolean isWalkable(int x, int y) {
+    return gameMap.isTileTypeAllowed(x, y, tileTypesMask);
+  }
+
+}
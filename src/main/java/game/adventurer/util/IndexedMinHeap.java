@@ -0,0 +1,166 @@
+package game.adventurer.util;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int items (tile indices) ordered by an int priority.
+ * <p>
+ * Unlike {@link java.util.PriorityQueue}, the heap keeps track of the slot of each item, so {@link #contains(int)} is O(1) and lowering the
+ * priority of an item already in the heap ({@link #decreaseKey(int, int)}) is O(log n) instead of a linear remove followed by an add.
+ */
+public class IndexedMinHeap {
+
+  private int[] heap = new int[0]; // heap slot -> item
+  private int[] slots = new int[0]; // item -> heap slot, -1 when the item is not in the heap
+  private int[] priorities = new int[0]; // item -> priority
+  private int size = 0;
+
+  /**
+   * Makes sure items from 0 to {@code capacity - 1} can be stored, and empties the heap.
+   *
+   * @param capacity The number of distinct items the heap must be able to hold.
+   */
+  public void reset(int capacity) {
+    if (slots.length < capacity) {
+      heap = new int[capacity];
+      slots = new int[capacity];
+      priorities = new int[capacity];
+      Arrays.fill(slots, -1);
+      size = 0;
+    }
+    clear();
+  }
+
+  /**
+   * Empties the heap, in O(size).
+   */
+  public void clear() {
+    for (int i = 0; i < size; i++) {
+      slots[heap[i]] = -1;
+    }
+    size = 0;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean contains(int item) {
+    return slots[item] >= 0;
+  }
+
+  public void insert(int item, int priority) {
+    priorities[item] = priority;
+    heap[size] = item;
+    slots[item] = size;
+    siftUp(size++);
+  }
+
+  /**
+   * Lowers the priority of an item already in the heap. Higher priorities are ignored.
+   */
+  public void decreaseKey(int item, int priority) {
+    if (priority < priorities[item]) {
+      priorities[item] = priority;
+      siftUp(slots[item]);
+    }
+  }
+
+  /**
+   * Inserts the item, or lowers its priority if it is already in the heap.
+   */
+  public void insertOrDecrease(int item, int priority) {
+    if (contains(item)) {
+      decreaseKey(item, priority);
+    } else {
+      insert(item, priority);
+    }
+  }
+
+  /**
+   * @return the priority of the item at the top of the heap, without removing it.
+   */
+  public int peekPriority() {
+    return priorities[heap[0]];
+  }
+
+  /**
+   * Removes and returns the item with the lowest priority.
+   */
+  public int poll() {
+    int top = heap[0];
+    slots[top] = -1;
+    size--;
+    if (size > 0) {
+      heap[0] = heap[size];
+      slots[heap[0]] = 0;
+      siftDown(0);
+    }
+    return top;
+  }
+
+  /**
+   * Removes an item from the heap, whatever its position. Does nothing if the item is not in the heap.
+   */
+  public void remove(int item) {
+    int slot = slots[item];
+    if (slot < 0) {
+      return;
+    }
+    slots[item] = -1;
+    size--;
+    if (slot < size) {
+      // the last item fills the hole, then goes down or up to its place
+      int moved = heap[size];
+      heap[slot] = moved;
+      slots[moved] = slot;
+      siftDown(slot);
+      siftUp(slots[moved]);
+    }
+  }
+
+  private void siftUp(int slot) {
+    int item = heap[slot];
+    int priority = priorities[item];
+    while (slot > 0) {
+      int parentSlot = (slot - 1) >>> 1;
+      int parent = heap[parentSlot];
+      if (priorities[parent] <= priority) {
+        break;
+      }
+      heap[slot] = parent;
+      slots[parent] = slot;
+      slot = parentSlot;
+    }
+    heap[slot] = item;
+    slots[item] = slot;
+  }
+
+  private void siftDown(int slot) {
+    int item = heap[slot];
+    int priority = priorities[item];
+    int half = size >>> 1;
+    while (slot < half) {
+      int childSlot = 2 * slot + 1;
+      int child = heap[childSlot];
+      int rightSlot = childSlot + 1;
+      if (rightSlot < size && priorities[heap[rightSlot]] < priorities[child]) {
+        childSlot = rightSlot;
+        child = heap[childSlot];
+      }
+      if (priority <= priorities[child]) {
+        break;
+      }
+      heap[slot] = child;
+      slots[child] = slot;
+      slot = childSlot;
+    }
+    heap[slot] = item;
+    slots[item] = slot;
+  }
+
+}
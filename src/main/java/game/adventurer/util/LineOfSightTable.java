@@ -0,0 +1,102 @@
+package game.adventurer.util;
+
+import game.adventurer.model.GameMap;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Precomputed lines of sight of a map: for every tile, one bit per tile of the square of radius {@value #RADIUS} around it, telling if the line
+ * traced to it is not blocked by the woods.
+ * <p>
+ * A field of view then comes down to a lookup of the bits of the creature's tile, masked by its view distance in each direction, instead of tracing
+ * a line to every tile. The Lurker's ability to see through the adjacent woods is not part of the table, it is applied on top of it.
+ * <p>
+ * The table takes {@code width * height * (2 * RADIUS + 1)²} bits: about 3.5 KiB for a SMALL map and 14 KiB for a MEDIUM one. It is not built when it
+ * would exceed {@value #MEMORY_BUDGET_BYTES} bytes, as on LARGE maps, where the lines are traced on demand.
+ */
+@Slf4j
+public class LineOfSightTable {
+
+  /**
+   * The farthest a creature looks, in both directions: the Sniffer's.
+   */
+  public static final int RADIUS = 8;
+  public static final int MEMORY_BUDGET_BYTES = 32 * 1024;
+  private static final int SIDE = 2 * RADIUS + 1;
+  private static final int OFFSETS_COUNT = SIDE * SIDE;
+
+  @Getter
+  private final long tilesVersion;
+  private final int width;
+  private final int height;
+  private final long[] bits; // index = origin tile index * OFFSETS_COUNT + (dy + RADIUS) * SIDE + dx + RADIUS
+
+  private LineOfSightTable(long tilesVersion, int width, int height, long[] bits) {
+    this.tilesVersion = tilesVersion;
+    this.width = width;
+    this.height = height;
+    this.bits = bits;
+  }
+
+  /**
+   * @return the size of the table of a map, in bytes.
+   */
+  public static long sizeInBytes(int width, int height) {
+    return ((long) width * height * OFFSETS_COUNT + 63) / 64 * Long.BYTES;
+  }
+
+  /**
+   * @return true if the table of a map fits in {@value #MEMORY_BUDGET_BYTES} bytes.
+   */
+  public static boolean fitsInBudget(int width, int height) {
+    return sizeInBytes(width, height) <= MEMORY_BUDGET_BYTES;
+  }
+
+  /**
+   * Traces the lines from every tile of a map to the tiles around it.
+   *
+   * @param gameMap The game map containing the tiles and obstacles.
+   * @return the table, or {@code null} if it doesn't {@link #fitsInBudget fit in the memory budget}.
+   */
+  public static LineOfSightTable build(GameMap gameMap) {
+    int width = gameMap.getMapWidth();
+    int height = gameMap.getMapHeight();
+    if (!fitsInBudget(width, height)) {
+      log.debug("No line of sight table for a {}x{} map, it would take {} bytes", width, height, sizeInBytes(width, height));
+      return null;
+    }
+    long[] bits = new long[(int) (sizeInBytes(width, height) / Long.BYTES)];
+    for (int originY = 0; originY < height; originY++) {
+      for (int originX = 0; originX < width; originX++) {
+        long base = (long) (originY * width + originX) * OFFSETS_COUNT;
+        for (int dy = -RADIUS; dy <= RADIUS; dy++) {
+          for (int dx = -RADIUS; dx <= RADIUS; dx++) {
+            int targetX = originX + dx;
+            int targetY = originY + dy;
+            if (targetX >= 0 && targetX < width && targetY >= 0 && targetY < height
+                && MiscUtil.isLineOfSightClear(originX, originY, targetX, targetY, gameMap)) {
+              long index = base + (dy + RADIUS) * SIDE + dx + RADIUS;
+              bits[(int) (index >>> 6)] |= 1L << index;
+            }
+          }
+        }
+      }
+    }
+    log.debug("Line of sight table built for a {}x{} map, {} bytes", width, height, sizeInBytes(width, height));
+    return new LineOfSightTable(gameMap.getTilesVersion(), width, height, bits);
+  }
+
+  /**
+   * Tells if the line from a tile to another one, at most {@value #RADIUS} tiles away in both directions, is not blocked by the woods.
+   *
+   * @return true if the line is clear, false if it is blocked or leads out of the map.
+   */
+  public boolean isClear(int originX, int originY, int targetX, int targetY) {
+    if (targetX < 0 || targetX >= width || targetY < 0 || targetY >= height) {
+      return false;
+    }
+    long index = (long) (originY * width + originX) * OFFSETS_COUNT + (targetY - originY + RADIUS) * SIDE + targetX - originX + RADIUS;
+    return (bits[(int) (index >>> 6)] & (1L << index)) != 0;
+  }
+
+}
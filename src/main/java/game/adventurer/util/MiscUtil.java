@@ -11,9 +11,8 @@ import game.adventurer.model.creature.Lurker;
 import game.adventurer.model.creature.Mugger;
 import game.adventurer.model.creature.Sniffer;
 import game.adventurer.model.enums.Direction;
-import java.util.HashSet;
+import game.adventurer.model.enums.FieldOfViewAlgorithm;
 import java.util.Objects;
-import java.util.Set;
 import javafx.application.Platform;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -24,9 +23,18 @@ import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
+import lombok.Getter;
+import lombok.Setter;
 
 public class MiscUtil {
 
+  /**
+   * Algorithm used by {@link #calculateFieldOfView(Creature, GameMap)}.
+   */
+  @Getter
+  @Setter
+  private static FieldOfViewAlgorithm fieldOfViewAlgorithm = FieldOfViewAlgorithm.SHADOWCASTING;
+
   private MiscUtil() {
   }
 
@@ -126,26 +134,77 @@ public class MiscUtil {
 
 
   /**
-   * Calculates the field of view for a creature on the game map using a modified Bresenham's line algorithm. This method determines which tiles are
-   * visible to the creature based on its position and the map layout.
+   * Calculates the field of view for a creature on the game map, using the {@link #getFieldOfViewAlgorithm() current algorithm}. This method
+   * determines which tiles are visible to the creature based on its position and the map layout.
+   * <p>
+   * On maps small enough to have a {@link GameMap#getLineOfSightTable() line of sight table}, the lines are looked up in it instead.
+   *
+   * @param creature The creature for which to calculate the field of view.
+   * @param gameMap  The game map containing the tiles and obstacles.
+   * @return A frozen set of Position objects representing the visible tiles. It is served from the {@link GameMap#getFieldOfViewCache() cache} of
+   * the map when already computed for the same position, facing direction and kind of creature.
+   */
+  public static TileSet calculateFieldOfView(Creature creature, GameMap gameMap) {
+    return gameMap.getFieldOfViewCache().get(creature, gameMap.getTilesVersion(), () -> computeFieldOfView(creature, gameMap));
+  }
+
+  /**
+   * Computes what {@link #calculateFieldOfView(Creature, GameMap)} gives on a cache miss, without looking at the cache of the map.
+   * <p>
+   * Only the tiles of the map are read, once its {@link GameMap#prepareConcurrentReads() lazily built state is prepared}: the fields of view of
+   * several creatures can then be computed at the same time on other threads, as long as the map and the creatures don't change meanwhile.
    *
    * @param creature The creature for which to calculate the field of view.
    * @param gameMap  The game map containing the tiles and obstacles.
    * @return A set of Position objects representing the visible tiles.
    */
-  public static Set<Position> calculateFieldOfView(Creature creature, GameMap gameMap) {
-    Set<Position> visibleTiles = new HashSet<>();
+  public static TileSet computeFieldOfView(Creature creature, GameMap gameMap) {
+    LineOfSightTable lineOfSightTable = gameMap.getLineOfSightTable();
+    if (lineOfSightTable == null) {
+      return calculateFieldOfView(creature, gameMap, fieldOfViewAlgorithm);
+    }
+    TileSet visibleTiles = new TileSet(gameMap.getMapWidth(), gameMap.getMapHeight());
+    Position origin = new Position(creature.getTileX(), creature.getTileY());
+    visibleTiles.add(origin);
+    addTilesInFieldOfView(creature, origin, gameMap, lineOfSightTable, visibleTiles);
+    return visibleTiles;
+  }
+
+  /**
+   * Calculates the field of view for a creature on the game map using the given algorithm. Both apply the same rules: WOOD tiles block the view
+   * (but are visible themselves), so does a diagonal gap between two of them, a Lurker on a WOOD tile sees the adjacent tiles only, and the
+   * distance a creature sees depends on its kind and on the direction it faces.
+   * <p>
+   * With {@link FieldOfViewAlgorithm#BRESENHAM}, a modified Bresenham's line is traced to every tile in view distance. With
+   * {@link FieldOfViewAlgorithm#SHADOWCASTING}, the same tiles are found by {@link ShadowCasting} in a single pass, visiting each tile once
+   * instead of once per line going through it.
+   *
+   * @param creature  The creature for which to calculate the field of view.
+   * @param gameMap   The game map containing the tiles and obstacles.
+   * @param algorithm The algorithm to use.
+   * @return A set of Position objects representing the visible tiles.
+   */
+  public static TileSet calculateFieldOfView(Creature creature, GameMap gameMap, FieldOfViewAlgorithm algorithm) {
+    TileSet visibleTiles = new TileSet(gameMap.getMapWidth(), gameMap.getMapHeight());
     Position origin = new Position(creature.getTileX(), creature.getTileY());
     visibleTiles.add(origin); // The creature's position is always "visible" to her
 
-    int maxDistance = switch (creature) {
-      case Adventurer ignored -> 5; // 5 as 5 is the max an Adventurer can "see" in the best direction (frontward)
-      case Sniffer ignored -> 8;
-      case Mugger ignored -> 4;
-      case Lurker ignored -> 5;
-      default -> throw new IllegalStateException("Unexpected value: " + creature);
-    };
+    if (algorithm == FieldOfViewAlgorithm.SHADOWCASTING) {
+      castFieldOfView(creature, origin, getMaxViewDistance(creature), gameMap, visibleTiles);
+    } else {
+      addTilesInFieldOfView(creature, origin, gameMap, null, visibleTiles);
+    }
+    return visibleTiles;
+  }
 
+  /**
+   * Adds the tiles visible by a creature to a set, checking the lines to every tile within its maximum view distance.
+   *
+   * @param lineOfSightTable The table giving the lines, or {@code null} to trace them.
+   */
+  private static void addTilesInFieldOfView(Creature creature, Position origin, GameMap gameMap, LineOfSightTable lineOfSightTable,
+      TileSet visibleTiles) {
+    int maxDistance = getMaxViewDistance(creature);
     // Iterate through all tiles within the maximum view distance
     for (int dx = -maxDistance; dx <= maxDistance; dx++) {
       for (int dy = -maxDistance; dy <= maxDistance; dy++) {
@@ -159,21 +218,98 @@ public class MiscUtil {
           continue;
         }
 
-        boolean woodsAreBlockingView = true;
-        if (creature instanceof Lurker && gameMap.getTileTypeAt(creature.getTileX(), creature.getTileY()) == Type.WOOD) {
-          // Lurkers on Type.WOOD Tiles woods can see through adjacent Type.WOOD Tiles
-          woodsAreBlockingView = !isAdjacentOrSamePosition(origin, targetPosition);
+        if (isInFieldOfView(creature, origin, targetPosition, gameMap, lineOfSightTable)) {
+          visibleTiles.add(targetPosition);
         }
+      }
+    }
+  }
 
-        // Check if the target is visible and within the creature's view distance
-        if (isVisible(origin, targetPosition, gameMap, woodsAreBlockingView) &&
-            getDistance(origin, targetPosition) <= getMaxVisibleDistanceForCreature(targetPosition, origin, creature)) {
-          visibleTiles.add(targetPosition);
+  /**
+   * Tells if a creature sees a single tile, with the same rules as {@link #calculateFieldOfView}: the distance to the tile is checked first, then a
+   * single line is traced to it, or looked up in the {@link GameMap#getLineOfSightTable() line of sight table} when the map has one, instead of
+   * finding the whole field of view of the creature.
+   *
+   * @param creature The creature looking.
+   * @param targetX  The X coordinate of the tile.
+   * @param targetY  The Y coordinate of the tile.
+   * @param gameMap  The game map containing the tiles and obstacles.
+   * @return true if the tile is in the field of view of the creature.
+   */
+  public static boolean canSee(Creature creature, int targetX, int targetY, GameMap gameMap) {
+    Position origin = new Position(creature.getTileX(), creature.getTileY());
+    int maxDistance = getMaxViewDistance(creature);
+    if (Math.abs(targetX - origin.x()) > maxDistance || Math.abs(targetY - origin.y()) > maxDistance || isOutOfMapBounds(gameMap, targetX, targetY)) {
+      return false;
+    }
+    Position target = new Position(targetX, targetY);
+    return origin.equals(target) || isInFieldOfView(creature, origin, target, gameMap, gameMap.getLineOfSightTable());
+  }
+
+  /**
+   * @return the distance up to which the tiles around a creature are looked at, in both directions.
+   */
+  private static int getMaxViewDistance(Creature creature) {
+    return switch (creature) {
+      case Adventurer ignored -> 5; // 5 as 5 is the max an Adventurer can "see" in the best direction (frontward)
+      case Sniffer ignored -> 8;
+      case Mugger ignored -> 4;
+      case Lurker ignored -> 5;
+      default -> throw new IllegalStateException("Unexpected value: " + creature);
+    };
+  }
+
+  /**
+   * Checks if a tile around a creature, within the maximum view distance, is within its view distance in that direction, then visible.
+   *
+   * @param lineOfSightTable The table giving the lines, or {@code null} to trace them.
+   */
+  private static boolean isInFieldOfView(Creature creature, Position origin, Position target, GameMap gameMap, LineOfSightTable lineOfSightTable) {
+    if (getDistance(origin, target) > getMaxVisibleDistanceForCreature(target, origin, creature)) {
+      return false;
+    }
+    if (creature instanceof Lurker && gameMap.getTileTypeAt(origin.x(), origin.y()) == Type.WOOD && isAdjacentOrSamePosition(origin, target)) {
+      // Lurkers on Type.WOOD Tiles woods can see through adjacent Type.WOOD Tiles
+      return isVisible(origin, target, gameMap, false);
+    }
+    return lineOfSightTable != null
+        ? lineOfSightTable.isClear(origin.x(), origin.y(), target.x(), target.y())
+        : isVisible(origin, target, gameMap, true);
+  }
+
+  /**
+   * Tells if the line between two tiles of the map is not blocked by the woods, see {@link LineOfSightTable}.
+   */
+  static boolean isLineOfSightClear(int originX, int originY, int targetX, int targetY, GameMap gameMap) {
+    return isVisible(new Position(originX, originY), new Position(targetX, targetY), gameMap, true);
+  }
+
+  /**
+   * Adds the tiles visible by a creature to a set, using {@link ShadowCasting}.
+   */
+  private static void castFieldOfView(Creature creature, Position origin, int maxDistance, GameMap gameMap, TileSet visibleTiles) {
+    if (gameMap.getTileTypeAt(origin.x(), origin.y()) == Type.WOOD) {
+      // From inside the woods, only Lurkers see, and only the adjacent tiles
+      if (creature instanceof Lurker) {
+        for (int dx = -1; dx <= 1; dx++) {
+          for (int dy = -1; dy <= 1; dy++) {
+            if ((dx != 0 || dy != 0) && !isOutOfMapBounds(gameMap, origin.x() + dx, origin.y() + dy)) {
+              addIfInViewDistance(creature, origin, new Position(origin.x() + dx, origin.y() + dy), visibleTiles);
+            }
+          }
         }
       }
+      return;
     }
+    ShadowCasting.compute(origin.x(), origin.y(), maxDistance, gameMap.getMapWidth(), gameMap.getMapHeight(),
+        (x, y) -> gameMap.getTileTypeAt(x, y) == Type.WOOD,
+        (x, y) -> addIfInViewDistance(creature, origin, new Position(x, y), visibleTiles));
+  }
 
-    return visibleTiles;
+  private static void addIfInViewDistance(Creature creature, Position origin, Position target, TileSet visibleTiles) {
+    if (getDistance(origin, target) <= getMaxVisibleDistanceForCreature(target, origin, creature)) {
+      visibleTiles.add(target);
+    }
   }
 
   /**
@@ -192,6 +328,8 @@ public class MiscUtil {
   /**
    * Determines if a target position is visible from an origin position using a modified Bresenham's line algorithm. This method takes into account
    * obstacles (WOOD tiles) and checks for diagonal visibility.
+   * <p>
+   * Lines within the map and up to {@link BresenhamRays#RADIUS} tiles long walk the template of their offset instead of being traced.
    *
    * @param origin               The starting position.
    * @param target               The target position to check for visibility.
@@ -204,6 +342,10 @@ public class MiscUtil {
     int originY = origin.y();
     int targetX = target.x();
     int targetY = target.y();
+    if (woodsAreBlockingView && BresenhamRays.covers(originX, originY, targetX, targetY)
+        && !isOutOfMapBounds(gameMap, originX, originY) && !isOutOfMapBounds(gameMap, targetX, targetY)) {
+      return BresenhamRays.isClear(originX, originY, targetX, targetY, gameMap);
+    }
     int deltaX = Math.abs(targetX - originX);
     int deltaY = Math.abs(targetY - originY);
     int stepX = originX < targetX ? 1 : -1;
@@ -0,0 +1,114 @@
+package game.adventurer.util;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.enums.Move;
+import lombok.Getter;
+
+/**
+ * Precomputed neighborhood of every tile of a map, for the tiles whose type is in a mask.
+ * <p>
+ * Each tile gets a small bitmask: one bit per {@link Move} telling if the neighbor in that direction is within the map and of an allowed type, and
+ * one bit telling if the tile itself is of an allowed type. Iterating over the neighbors of a tile then writes their indices
+ * ({@code index = y * width + x}) into an array supplied by the caller, without bound or type checks nor any allocation. Occupied tiles are not
+ * taken into account.
+ */
+public class NavigationGrid {
+
+  /**
+   * Offsets of the neighbors, in the order of {@link Move#values()}.
+   */
+  private static final int[] DX;
+  private static final int[] DY;
+  private static final int DIRECTIONS_COUNT;
+  private static final int WALKABLE_BIT = 1 << 4;
+
+  static {
+    Move[] moves = Move.values();
+    DIRECTIONS_COUNT = moves.length;
+    DX = new int[DIRECTIONS_COUNT];
+    DY = new int[DIRECTIONS_COUNT];
+    for (int direction = 0; direction < DIRECTIONS_COUNT; direction++) {
+      DX[direction] = moves[direction].getDx();
+      DY[direction] = moves[direction].getDy();
+    }
+  }
+
+  @Getter
+  private final int tileTypesMask;
+  @Getter
+  private final long tilesVersion;
+  @Getter
+  private final int width;
+  @Getter
+  private final int height;
+  private final byte[] masks;
+  private final int[] offsets = new int[DIRECTIONS_COUNT];
+
+  private NavigationGrid(int tileTypesMask, long tilesVersion, int width, int height, byte[] masks) {
+    this.tileTypesMask = tileTypesMask;
+    this.tilesVersion = tilesVersion;
+    this.width = width;
+    this.height = height;
+    this.masks = masks;
+    for (int direction = 0; direction < DIRECTIONS_COUNT; direction++) {
+      offsets[direction] = DY[direction] * width + DX[direction];
+    }
+  }
+
+  /**
+   * Computes the neighborhood of every tile of a map.
+   *
+   * @param gameMap       The game map containing the grid and tile information.
+   * @param tileTypesMask The tile types that can be walked through, as built by {@link game.adventurer.model.Tile.Type#maskOf}.
+   * @return the navigation grid of the map.
+   */
+  public static NavigationGrid build(GameMap gameMap, int tileTypesMask) {
+    int width = gameMap.getMapWidth();
+    int height = gameMap.getMapHeight();
+    byte[] masks = new byte[width * height];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int mask = gameMap.isTileTypeAllowed(x, y, tileTypesMask) ? WALKABLE_BIT : 0;
+        for (int direction = 0; direction < DIRECTIONS_COUNT; direction++) {
+          int newX = x + DX[direction];
+          int newY = y + DY[direction];
+          if (newX >= 0 && newX < width && newY >= 0 && newY < height && gameMap.isTileTypeAllowed(newX, newY, tileTypesMask)) {
+            mask |= 1 << direction;
+          }
+        }
+        masks[y * width + x] = (byte) mask;
+      }
+    }
+    return new NavigationGrid(tileTypesMask, gameMap.getTilesVersion(), width, height, masks);
+  }
+
+  /**
+   * Writes the indices of the neighbors of a tile that are of an allowed type, in the order of {@link Move#values()}.
+   *
+   * @param tile      The index of the tile.
+   * @param neighbors The array receiving the neighbors, of length 4 at least.
+   * @return the number of neighbors written.
+   */
+  public int neighbors(int tile, int[] neighbors) {
+    int mask = masks[tile];
+    int count = 0;
+    for (int direction = 0; direction < DIRECTIONS_COUNT; direction++) {
+      if ((mask & (1 << direction)) != 0) {
+        neighbors[count++] = tile + offsets[direction];
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return true if the tile is of an allowed type.
+   */
+  public boolean isWalkable(int tile) {
+    return (masks[tile] & WALKABLE_BIT) != 0;
+  }
+
+  public boolean isWalkable(int x, int y) {
+    return isWalkable(y * width + x);
+  }
+
+}
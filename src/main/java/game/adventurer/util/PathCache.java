@@ -0,0 +1,99 @@
+package game.adventurer.util;
+
+import game.adventurer.model.Position;
+import game.adventurer.model.enums.PathfindingAlgorithm;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * Cache of the shortest paths found on a game map, keyed by start, goal, allowed tile types and algorithm: the algorithms may find different
+ * shortest paths.
+ * <p>
+ * A path only stays valid as long as the map doesn't change: every entry is dropped as soon as the map version (bumped when a tile gets occupied,
+ * freed, or changes type) differs from the one the paths were computed with. Within a tick, monsters asking twice for the same path thus only pay
+ * for one search.
+ */
+public class PathCache {
+
+  private static final int MAX_ENTRIES = 64;
+
+  private record Key(Position start, Position goal, int tileTypesMask, PathfindingAlgorithm algorithm) {
+
+  }
+
+  private final Map<Key, List<Position>> paths = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, List<Position>> eldest) {
+      return size() > MAX_ENTRIES;
+    }
+  };
+  private long version = Long.MIN_VALUE;
+
+  @Getter
+  private long hits = 0;
+  @Getter
+  private long misses = 0;
+  @Getter
+  private long invalidations = 0;
+
+  /**
+   * Looks for a path computed on the same version of the map.
+   *
+   * @param start         The starting position.
+   * @param goal          The goal position.
+   * @param tileTypesMask The tile types the path can walk through.
+   * @param algorithm     The algorithm the path is searched with.
+   * @param mapVersion    The current version of the map.
+   * @return a copy of the cached path (possibly empty if no path exists), or {@code null} if it has to be computed.
+   */
+  public LinkedHashSet<Position> get(Position start, Position goal, int tileTypesMask, PathfindingAlgorithm algorithm, long mapVersion) {
+    invalidateIfOutdated(mapVersion);
+    List<Position> path = paths.get(new Key(start, goal, tileTypesMask, algorithm));
+    if (path == null) {
+      misses++;
+      return null;
+    }
+    hits++;
+    return new LinkedHashSet<>(path); // callers consume the paths they get
+  }
+
+  /**
+   * Stores a path computed on the given version of the map.
+   */
+  public void put(Position start, Position goal, int tileTypesMask, PathfindingAlgorithm algorithm, long mapVersion, Set<Position> path) {
+    invalidateIfOutdated(mapVersion);
+    paths.put(new Key(start, goal, tileTypesMask, algorithm), List.copyOf(path));
+  }
+
+  /**
+   * @return the share of lookups served from the cache, between 0 and 1.
+   */
+  public double getHitRate() {
+    long lookups = hits + misses;
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+
+  private void invalidateIfOutdated(long mapVersion) {
+    if (mapVersion != version) {
+      if (!paths.isEmpty()) {
+        paths.clear();
+        invalidations++;
+      }
+      version = mapVersion;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "PathCache{" +
+        "hits=" + hits +
+        ", misses=" + misses +
+        ", hitRate=" + String.format("%.2f", getHitRate()) +
+        ", invalidations=" + invalidations +
+        '}';
+  }
+}
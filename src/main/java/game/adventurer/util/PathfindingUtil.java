@@ -5,36 +5,52 @@ import static game.adventurer.util.MiscUtil.isOutOfMapBounds;
 
 import game.adventurer.model.GameMap;
 import game.adventurer.model.Position;
-import game.adventurer.model.Tile;
-import game.adventurer.model.Tile.Type;
 import game.adventurer.model.creature.Creature;
 import game.adventurer.model.creature.Monster;
+import game.adventurer.model.enums.MapSize;
 import game.adventurer.model.enums.Move;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.Deque;
-import java.util.HashMap;
-import java.util.HashSet;
+import game.adventurer.model.enums.PathfindingAlgorithm;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.LoggerFactory;
 
 @Slf4j
 public class PathfindingUtil {
 
+  /**
+   * Algorithm used by {@link #shortestPath(Creature, Position, Position, GameMap)}.
+   */
+  @Getter
+  @Setter
+  private static PathfindingAlgorithm algorithm = PathfindingAlgorithm.A_STAR;
+
+  /**
+   * Below this map size, or for goals closer than two clusters, a regular search is cheap enough and the hierarchical one is not used.
+   */
+  private static final int HIERARCHICAL_MIN_MAP_SIZE = MapSize.LARGE.getSize();
+  private static final int HIERARCHICAL_MIN_DISTANCE = 2 * HierarchicalPathfinder.CLUSTER_SIZE;
+
+  private static final int SEARCH_RADIUS = 6;
+  private static final Move[] MOVES = Move.values(); // values() returns a new array on each call
+
   public interface TileValidator {
 
     boolean isValidTile(int x, int y);
   }
 
+  /**
+   * The closest of several targets, and the path leading to it.
+   *
+   * @param target The closest target.
+   * @param path   The path from the tile following the start to the target included, in walking order.
+   */
+  public record NearestTarget(Position target, LinkedHashSet<Position> path) {
+
+  }
+
   /**
    * Checks if there is a valid path between two points on a grid using Breadth-First Search (BFS).
    *
@@ -48,43 +64,7 @@ public class PathfindingUtil {
    * @return true if a path exists, false otherwise.
    */
   public static boolean hasPath(int startX, int startY, int endX, int endY, int width, int height, TileValidator validator) {
-    // Keeping track of visited tiles with a bi-dimensional array
-    boolean[][] visited = new boolean[height][width];
-    // Create a queue for BFS. Each element is an array: [y, x]
-    Queue<int[]> queue = new LinkedList<>();
-    // Add starting position (adventurer) to queue
-    queue.offer(new int[]{startY, startX});
-    visited[startY][startX] = true;
-
-    // Define possible directions (up, right, down, left)
-    int[][] directions = {{-1, 0}, {0, 1}, {1, 0}, {0, -1}};
-
-    while (!queue.isEmpty()) {
-      int[] current = queue.poll();
-      int y = current[0];
-      int x = current[1];
-
-      // If the treasure is reached, a path exists
-      if (y == endY && x == endX) {
-        return true;
-      }
-
-      // Verifies all directions
-      for (int[] dir : directions) {
-        int newY = y + dir[0];
-        int newX = x + dir[1];
-
-        // Check that the new position is valid and not visited
-        if (newY >= 0 && newY < height && newX >= 0 && newX < width
-            && !visited[newY][newX] && validator.isValidTile(newX, newY)) {
-          queue.offer(new int[]{newY, newX});
-          visited[newY][newX] = true;
-        }
-      }
-    }
-
-    // If we get here, no path was found.
-    return false;
+    return PathfindingWorkspace.current().getGridSearch().distance(startX, startY, endX, endY, width, height, validator) >= 0;
   }
 
   public static boolean hasPath(Position startPosition, Position targetPosition, int width, int height, TileValidator validator) {
@@ -104,143 +84,95 @@ public class PathfindingUtil {
    * @return The length of the shortest path, or -1 if no path exists.
    */
   public static int shortestPath(int startX, int startY, int endX, int endY, int width, int height, TileValidator validator) {
-    LoggerFactory.getLogger(PathfindingUtil.class).debug("treasure: ({}, {})", endX, endY);
-    // Keeping track of visited tiles with a bi-dimensional array
-    boolean[][] visited = new boolean[height][width];
-    // Create a queue for BFS. Each element is an array: [y, x, distance]
-    Queue<int[]> queue = new LinkedList<>();
-
-    // Add the starting point to the queue and mark it as visited
-    queue.offer(new int[]{startX, startY, 0}); // x, y, distance
-    visited[startY][startX] = true;
-
-    int[][] directions = {{0, -1}, {1, 0}, {0, 1}, {-1, 0}}; // Up, Right, Down, Left
-
-    while (!queue.isEmpty()) {
-      int[] current = queue.poll();
-      int x = current[0];
-      int y = current[1];
-      int distance = current[2];
-
-      // If we've reached the end point, return the distance
-      if (x == endX && y == endY) {
-        LoggerFactory.getLogger(PathfindingUtil.class).debug("Shortest path found: {}", distance);
-        return distance;
-      }
-
-      for (int[] dir : directions) {
-        int newX = x + dir[0];
-        int newY = y + dir[1];
-
-        // Check if the new position is within bounds, not visited, and valid
-        if (newX >= 0 && newX < width && newY >= 0 && newY < height
-            && !visited[newY][newX] && validator.isValidTile(newX, newY)) {
-          queue.offer(new int[]{newX, newY, distance + 1});
-          visited[newY][newX] = true;
-        }
-      }
-    }
-
-    return -1; // No path found
+    log.debug("treasure: ({}, {})", endX, endY);
+    int distance = PathfindingWorkspace.current().getGridSearch().distance(startX, startY, endX, endY, width, height, validator);
+    log.debug("Shortest path found: {}", distance);
+    return distance;
   }
 
-  // A* style
+  /**
+   * Finds the shortest path between two positions for a creature, using the current {@link #getAlgorithm() algorithm}. Occupied tiles are avoided.
+   *
+   * @param creature The creature for which the path is being calculated, its allowed tile types are the only ones walked through.
+   * @param start    The starting position.
+   * @param goal     The goal position.
+   * @param gameMap  The game map containing the grid and tile information.
+   * @return The path from the tile following the start to the goal included, in walking order, or an empty set if no path exists.
+   */
   public static Set<Position> shortestPath(Creature creature, Position start, Position goal, GameMap gameMap) {
-    Set<Type> allowedTileTypes = creature.getAllowedTileTypes();
-    PriorityQueue<Node> openSet = new PriorityQueue<>(Comparator.comparingInt(Node::fCost)); // nodes to be explored, sorted by their smallest cost
-    Map<Position, Node> allNodes = new HashMap<>();
-    Set<Position> closedSet = new HashSet<>(); // already explored Nodes
-
-    // Initial node
-    Node startNode = new Node(start, null, 0, getDistance(start, goal));
-    openSet.add(startNode);
-    allNodes.put(start, startNode);
-
-    while (!openSet.isEmpty()) {
-      Node current = openSet.poll();
-
-      // If goal is reached
-      if (current.position.equals(goal)) {
-        return reconstructPath(current);
-      }
-
-      closedSet.add(current.position);
-
-      // Explore neighbors
-      for (Position neighbor : getValidNeighbors(current.position, gameMap, allowedTileTypes, false)) {
-        if (closedSet.contains(neighbor)) {
-          continue;
-        }
-
-        if (gameMap.isTileOccupied(neighbor.x(), neighbor.y())) {
-          continue; // Avoiding occupied Tiles
-        }
-
-        int tentativeGCost = current.gCost + 1; // Uniform cost (1 per tile) for now, might change that later depending on Creature type
-        // or terrain elevation if it comes to be a thing
-        Node neighborNode = allNodes.getOrDefault(neighbor, new Node(neighbor));
-
-        if (tentativeGCost < neighborNode.gCost) {
-          neighborNode.gCost = tentativeGCost;
-          neighborNode.hCost = getDistance(neighbor, goal);
-          neighborNode.parent = current;
-
-          allNodes.put(neighbor, neighborNode);
-
-          if (!openSet.contains(neighborNode)) {
-            openSet.add(neighborNode);
-          } else {
-            openSet.remove(neighborNode);
-            openSet.add(neighborNode); // forces the openSet to re-sort when a Node min cost is lowered
-          }
-        }
-      }
-    }
-
-    return new LinkedHashSet<>(); // No path found
-
+    return shortestPath(creature, start, goal, gameMap, algorithm);
   }
 
-  private static LinkedHashSet<Position> reconstructPath(Node goalNode) {
-    Deque<Position> path = new ArrayDeque<>();
-    Node current = goalNode;
-
-    while (current != null) {
-      path.addFirst(current.position); // adds the position on the top of the queue
-      current = current.parent;
+  /**
+   * Finds the shortest path between two positions for a creature, using the given algorithm. Occupied tiles are avoided.
+   *
+   * @param creature  The creature for which the path is being calculated, its allowed tile types are the only ones walked through.
+   * @param start     The starting position.
+   * @param goal      The goal position.
+   * @param gameMap   The game map containing the grid and tile information.
+   * @param algorithm The pathfinding algorithm to use. All of them return a shortest path, but not necessarily the same one.
+   * @return The path from the tile following the start to the goal included, in walking order, or an empty set if no path exists. It is served
+   * from the {@link GameMap#getPathCache() cache} of the map when the map hasn't changed since it was computed with the same algorithm.
+   */
+  public static Set<Position> shortestPath(Creature creature, Position start, Position goal, GameMap gameMap, PathfindingAlgorithm algorithm) {
+    int tileTypesMask = creature.getAllowedTileTypesMask();
+    PathCache pathCache = gameMap.getPathCache();
+    LinkedHashSet<Position> cachedPath = pathCache.get(start, goal, tileTypesMask, algorithm, gameMap.getVersion());
+    if (cachedPath != null) {
+      return cachedPath;
     }
-    path.removeFirst(); // removes the current position of the Creature from the path
-    return new LinkedHashSet<>(path); // the path will be in correct order, from the target to the goal
+    LinkedHashSet<Position> path = searchPath(start, goal, gameMap, algorithm, tileTypesMask);
+    pathCache.put(start, goal, tileTypesMask, algorithm, gameMap.getVersion(), path);
+    return path;
   }
 
   /**
-   * Retrieves the valid neighboring positions for a given position on the game map.
-   *
-   * <p>This method checks all possible moves from the given position and returns the positions
-   * that are within the map bounds, of an allowed tile type, and optionally not occupied.
+   * Finds the first steps of a shortest path between two positions for a creature, for callers that only need to know where to go next. Occupied
+   * tiles are avoided.
+   * <p>
+   * On large maps, goals far away are handled by the {@link HierarchicalPathfinder hierarchical pathfinder} of the map, which only refines the path
+   * up to the first cluster entrance on the way. The steps returned then follow a near-optimal path. Otherwise, it is the full
+   * {@link #shortestPath(Creature, Position, Position, GameMap) shortest path}.
    *
-   * @param position                     The current position.
-   * @param gameMap                      The game map containing the grid and tile information.
-   * @param allowedTileTypes             The set of tile types that are considered valid.
-   * @param takeIntoAccountOccupiedTiles If true, only unoccupied tiles are considered valid.
-   * @return A set of valid neighboring positions.
+   * @param creature The creature for which the path is being calculated, its allowed tile types are the only ones walked through.
+   * @param start    The starting position.
+   * @param goal     The goal position.
+   * @param gameMap  The game map containing the grid and tile information.
+   * @return The first steps toward the goal, in walking order, or an empty set if no path exists.
    */
-  public static Set<Position> getValidNeighbors(Position position, GameMap gameMap, Set<Type> allowedTileTypes,
-      boolean takeIntoAccountOccupiedTiles) {
-    Set<Position> neighbors = new HashSet<>();
-
-    for (Move move : Move.values()) {
-      int newX = position.x() + move.getDx();
-      int newY = position.y() + move.getDy();
-      boolean validTile = !isOutOfMapBounds(gameMap, newX, newY)
-          && allowedTileTypes.contains(gameMap.getTileTypeAt(newX, newY))
-          && (!takeIntoAccountOccupiedTiles || !gameMap.isTileOccupied(newX, newY));
-      if (validTile) {
-        neighbors.add(new Position(newX, newY));
+  public static Set<Position> firstSteps(Creature creature, Position start, Position goal, GameMap gameMap) {
+    if (Math.max(gameMap.getMapWidth(), gameMap.getMapHeight()) >= HIERARCHICAL_MIN_MAP_SIZE
+        && getDistance(start, goal) >= HIERARCHICAL_MIN_DISTANCE) {
+      Set<Position> firstLeg = gameMap.getHierarchicalPathfinder(creature.getAllowedTileTypesMask())
+          .firstLeg(start, goal, (x, y) -> !gameMap.isTileOccupied(x, y));
+      if (firstLeg != null) {
+        return firstLeg;
       }
+      // start and goal in the same cluster, or first leg blocked by other creatures: falls back to a regular search
     }
+    return shortestPath(creature, start, goal, gameMap);
+  }
 
-    return neighbors;
+  private static LinkedHashSet<Position> searchPath(Position start, Position goal, GameMap gameMap, PathfindingAlgorithm algorithm,
+      int tileTypesMask) {
+    PathfindingWorkspace workspace = PathfindingWorkspace.current();
+    TileValidator validator = workspace.walkableValidator(gameMap.getNavigationGrid(tileTypesMask), gameMap); // Avoiding occupied Tiles
+    int width = gameMap.getMapWidth();
+    int height = gameMap.getMapHeight();
+    return switch (algorithm) {
+      case A_STAR -> {
+        GridAStar aStar = workspace.getAStar();
+        yield aStar.search(start.x(), start.y(), goal.x(), goal.y(), width, height, validator) < 0
+            ? new LinkedHashSet<>() // No path found
+            : aStar.lastPath();
+      }
+      case JUMP_POINT_SEARCH -> {
+        GridJumpPointSearch jumpPointSearch = workspace.getJumpPointSearch();
+        yield jumpPointSearch.search(start.x(), start.y(), goal.x(), goal.y(), width, height, validator) < 0
+            ? new LinkedHashSet<>()
+            : jumpPointSearch.lastPath();
+      }
+    };
   }
 
   /**
@@ -254,186 +186,108 @@ public class PathfindingUtil {
    * @return A valid neighboring {@code Position} that the monster can move to, or {@code null} if no valid neighboring position is found.
    */
   public static Position getValidNeighbor(Monster monster, GameMap gameMap, boolean inSearch) {
+    int width = gameMap.getMapWidth();
+    int[] neighbors = PathfindingWorkspace.current().getNeighbors();
+    int count = gameMap.getNavigationGrid(monster.getAllowedTileTypesMask())
+        .neighbors(monster.getTileY() * width + monster.getTileX(), neighbors);
+
+    // Shuffles the neighbors to randomize the order of moves
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = count - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int neighbor = neighbors[i];
+      neighbors[i] = neighbors[j];
+      neighbors[j] = neighbor;
+    }
 
-    // Convert the array of Move values to a List
-    List<Move> moves = new ArrayList<>(List.of(Move.values()));
-
-    // Shuffle the list to randomize the order of moves
-    Collections.shuffle(moves);
-
-    for (Move move : moves) {
-      int newX = monster.getTileX() + move.getDx();
-      int newY = monster.getTileY() + move.getDy();
-      Position position = new Position(newX, newY);
-      boolean searchAreaFail = false;
-      if (inSearch) {
-        searchAreaFail = !monster.getSearchArea().contains(position);
+    for (int i = 0; i < count; i++) {
+      int newX = neighbors[i] % width;
+      int newY = neighbors[i] / width;
+      if (gameMap.isTileOccupied(newX, newY)) {
+        continue;
       }
-      boolean validTile = !searchAreaFail
-          && !isOutOfMapBounds(gameMap, newX, newY)
-          && monster.getAllowedTileTypes().contains(gameMap.getTileTypeAt(newX, newY))
-          && !gameMap.isTileOccupied(newX, newY);
-      if (validTile) {
-        return position;
+      if (!inSearch || monster.getSearchArea().contains(newX, newY)) {
+        return new Position(newX, newY);
       }
     }
 
     return null;
   }
 
-
-  // Internal class for A* nodes
-  private static class Node {
-
-    Position position;
-    Node parent;
-    int gCost; // Real cost from start to this node
-    int hCost; // Heuristic cost from this node to goal (using Manhattan distance here)
-
-    Node(Position position) {
-      this(position, null, Integer.MAX_VALUE, Integer.MAX_VALUE);
-    }
-
-    Node(Position position, Node parent, int gCost, int hCost) {
-      this.position = position;
-      this.parent = parent;
-      this.gCost = gCost;
-      this.hCost = hCost;
-    }
-
-    /**
-     * The method approximates the cost to reach goal by adding the real cost from start to a given node (gCost) and the estimated cost from a given
-     * node to the goal (hCost)
-     *
-     * @return an int that is the total estimated cost to reach goal
-     */
-    int fCost() {
-      return gCost + hCost;
-    }
-
-  }
-
   /**
-   * Calculates the shortest distance between two points on a grid using the A* algorithm.
+   * Finds the closest of several targets for a creature with a single Breadth-First Search, stopping at the first target reached.
+   * Occupied tiles are not taken into account.
    *
-   * @param creature The creature for which the path is being calculated.
-   * @param start    The starting position.
-   * @param goal     The goal position.
+   * @param creature The creature for which the path is being calculated, its allowed tile types are the only ones walked through.
+   * @param start    The starting position, never considered as a target.
+   * @param targets  The positions of the targets.
    * @param gameMap  The game map containing the grid and tile information.
-   * @return The length of the shortest path, or -1 if no path exists.
+   * @return the closest target and the path to it, or {@code null} if no target can be reached.
    */
-  public static int shortestDistance(Creature creature, Position start, Position goal, GameMap gameMap) {
-    Set<Type> allowedTileTypes = creature.getAllowedTileTypes();
-    PriorityQueue<Node> openSet = new PriorityQueue<>(Comparator.comparingInt(Node::fCost));
-    Map<Position, Integer> gCosts = new HashMap<>();
-    Set<Position> closedSet = new HashSet<>();
-
-    // Initial node
-    Node startNode = new Node(start, null, 0, getDistance(start, goal));
-    openSet.add(startNode);
-    gCosts.put(start, 0);
-
-    while (!openSet.isEmpty()) {
-      Node current = openSet.poll();
-
-      if (current.position.equals(goal)) {
-        return current.gCost; // Return the distance as soon as the goal is reached
-      }
-
-      closedSet.add(current.position);
-
-      for (Position neighbor : getValidNeighbors(current.position, gameMap, allowedTileTypes, false)) {
-        if (closedSet.contains(neighbor)) {
-          continue;
-        }
-
-        int tentativeGCost = current.gCost + 1;
-
-        if (tentativeGCost < gCosts.getOrDefault(neighbor, Integer.MAX_VALUE)) {
-          gCosts.put(neighbor, tentativeGCost);
-          Node neighborNode = new Node(neighbor, null, tentativeGCost, getDistance(neighbor, goal));
-
-          if (!openSet.contains(neighborNode)) {
-            openSet.add(neighborNode);
-          } else {
-            openSet.remove(neighborNode);
-            openSet.add(neighborNode);
-          }
-        }
-      }
-    }
-
-    return -1; // No path found
-  }
-
-  public static Set<Position> calculateSearchArea(Monster monster, Position lastSeenPosition, GameMap gameMap) {
-    Set<Position> searchArea = new HashSet<>();
-    Queue<Position> queue = new LinkedList<>();
-    Set<Position> visited = new HashSet<>();
-
-    queue.add(lastSeenPosition);
-    visited.add(lastSeenPosition);
-
-    TileValidator validator = (x, y) -> {
-      Position pos = new Position(x, y);
-      // Check if the tile is within the allowed types and not in the monster's FOV when it lost sight of the Adventurer,
-      // or on the path to the last known Adventurer position
-      return monster.getAllowedTileTypes().contains(gameMap.getTileTypeAt(x, y))
-          && monster.getStoredFOV().contains(pos);
-    };
-
-    while (!queue.isEmpty()) {
-      Position current = queue.poll();
-      searchArea.add(current);
-
-      for (Position neighbor : getValidNeighbors(current, gameMap, monster.getAllowedTileTypes(), false)) {
-        if (!visited.contains(neighbor)
-            && getDistance(lastSeenPosition, neighbor) <= 6
-            && hasPath(lastSeenPosition, neighbor, gameMap.getMapWidth(), gameMap.getMapHeight(), validator)) {
-          queue.add(neighbor);
-          visited.add(neighbor);
-        }
-      }
-    }
-    log.info("CalculatedSearchArea size : {}", searchArea.size());
-    return searchArea;
+  public static NearestTarget findNearestTarget(Creature creature, Position start, Set<Position> targets, GameMap gameMap) {
+    int width = gameMap.getMapWidth();
+    int[] targetTiles = targets.stream()
+        .filter(target -> !isOutOfMapBounds(gameMap, target.x(), target.y()))
+        .mapToInt(target -> target.y() * width + target.x())
+        .toArray();
+    PathfindingWorkspace workspace = PathfindingWorkspace.current();
+    GridSearch gridSearch = workspace.getGridSearch();
+    int target = gridSearch.nearest(start.x(), start.y(), targetTiles, width, gameMap.getMapHeight(),
+        workspace.walkableValidator(gameMap.getNavigationGrid(creature.getAllowedTileTypesMask()), null));
+    return target < 0 ? null : new NearestTarget(new Position(target % width, target / width), gridSearch.lastPath());
   }
 
   /**
-   * Finds the nearest tile of a given type from a starting position using a breadth-first search (BFS). This ensures the shortest path in terms of
-   * tile traversal is found.
+   * Calculates the area a monster searches when it reaches the last position where it saw the adventurer: the tiles it can walk to from that
+   * position without leaving its allowed tile types, the field of view it had when it lost sight of the adventurer, and a radius of
+   * {@value #SEARCH_RADIUS} moves.
+   * <p>
+   * The area is found by a single flood fill, bounded by the radius, on a small grid centered on the last seen position.
    *
-   * @param startPosition The starting position from which the search begins.
-   * @param gameMap       The game map containing the tiles.
-   * @param type          The tile type to search for.
-   * @return The position of the nearest tile of the specified type, or {@code null} if no such tile is found.
+   * @param monster          The searching monster, whose stored field of view bounds the search.
+   * @param lastSeenPosition The last position where the monster saw the adventurer, always part of the area.
+   * @param gameMap          The game map containing the grid and tile information.
+   * @return the positions of the search area.
    */
-  public static Position findNearestTileOfType(Position startPosition, GameMap gameMap, Tile.Type type) {
-    Set<Position> visited = new HashSet<>();
-    Queue<Position> queue = new LinkedList<>();
-    queue.add(startPosition);
-    visited.add(startPosition);
-
-    while (!queue.isEmpty()) {
-      Position current = queue.poll();
-
-      if (gameMap.getTileTypeAt(current.x(), current.y()) == type) {
-        return current;
+  public static TileSet calculateSearchArea(Monster monster, Position lastSeenPosition, GameMap gameMap) {
+    int side = 2 * SEARCH_RADIUS + 1;
+    int originX = lastSeenPosition.x() - SEARCH_RADIUS;
+    int originY = lastSeenPosition.y() - SEARCH_RADIUS;
+    NavigationGrid navigationGrid = gameMap.getNavigationGrid(monster.getAllowedTileTypesMask());
+
+    // Marks the tiles of the stored FOV that can be part of the area
+    boolean[] candidates = new boolean[side * side];
+    for (Position position : monster.getStoredFOV()) {
+      if (getDistance(lastSeenPosition, position) <= SEARCH_RADIUS && !isOutOfMapBounds(gameMap, position.x(), position.y())
+          && navigationGrid.isWalkable(position.x(), position.y())) {
+        candidates[(position.y() - originY) * side + position.x() - originX] = true;
       }
+    }
 
-      // Use getValidNeighbors to get valid neighboring positions
-      Set<Position> neighbors = getValidNeighbors(current, gameMap, Set.of(Type.values()), false);
-
-      for (Position neighbor : neighbors) {
-        if (!visited.contains(neighbor)) {
-          queue.add(neighbor);
-          visited.add(neighbor);
+    TileSet searchArea = new TileSet(gameMap.getMapWidth(), gameMap.getMapHeight());
+    int[] queue = new int[side * side];
+    int head = 0;
+    int tail = 0;
+    int center = SEARCH_RADIUS * side + SEARCH_RADIUS;
+    candidates[center] = false; // the last seen position is the start, it is never enqueued again
+    queue[tail++] = center;
+    while (head < tail) {
+      int current = queue[head++];
+      int localX = current % side;
+      int localY = current / side;
+      searchArea.add(originX + localX, originY + localY);
+      for (Move move : MOVES) {
+        int nextX = localX + move.getDx();
+        int nextY = localY + move.getDy();
+        int next = nextY * side + nextX;
+        if (nextX >= 0 && nextX < side && nextY >= 0 && nextY < side && candidates[next]) {
+          candidates[next] = false;
+          queue[tail++] = next;
         }
       }
     }
-
-    // Return null if no tile of said type is found
-    return null;
+    log.info("CalculatedSearchArea size : {}", searchArea.size());
+    return searchArea;
   }
 
 }
@@ -0,0 +1,108 @@
+package game.adventurer.util;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.util.PathfindingUtil.TileValidator;
+import java.util.Arrays;
+import lombok.Getter;
+
+/**
+ * Working memory of the searches run by {@link PathfindingUtil}, one per thread.
+ * <p>
+ * It holds the search engines, whose arrays are sized to the biggest map searched so far, and generation-stamped arrays for the simpler flood fills.
+ * A new search "clears" them in O(1) by bumping the stamp, and the tile validators handed to the engines are reused too, so that once warmed up a
+ * search allocates nothing but its result.
+ * <p>
+ * An instance is not thread-safe and searches using it must not be nested, {@link #current()} gives the one of the calling thread.
+ */
+public class PathfindingWorkspace {
+
+  private static final ThreadLocal<PathfindingWorkspace> WORKSPACE = ThreadLocal.withInitial(PathfindingWorkspace::new);
+
+  @Getter
+  private final GridSearch gridSearch = new GridSearch();
+  @Getter
+  private final GridAStar aStar = new GridAStar();
+  @Getter
+  private final GridJumpPointSearch jumpPointSearch = new GridJumpPointSearch();
+  /**
+   * Buffer receiving the neighbors given by {@link NavigationGrid#neighbors}.
+   */
+  @Getter
+  private final int[] neighbors = new int[4];
+  private final WalkableValidator walkableValidator = new WalkableValidator();
+  /**
+   * Queue of the flood fills, of at least as many tiles as the map, each tile being enqueued at most once.
+   */
+  @Getter
+  private int[] queue = new int[0];
+  private int[] visitedStamps = new int[0];
+  private int stamp = 0;
+
+  PathfindingWorkspace() {
+  }
+
+  /**
+   * @return the workspace of the calling thread.
+   */
+  public static PathfindingWorkspace current() {
+    return WORKSPACE.get();
+  }
+
+  /**
+   * Starts a new flood fill: makes sure the queue and the visited tiles can hold the given number of tiles, and forgets the tiles visited before.
+   *
+   * @param tilesCount The number of tiles of the map.
+   */
+  public void startFloodFill(int tilesCount) {
+    if (queue.length < tilesCount) {
+      queue = new int[tilesCount];
+      visitedStamps = new int[tilesCount];
+      stamp = 0;
+    }
+    if (stamp == Integer.MAX_VALUE) {
+      Arrays.fill(visitedStamps, 0);
+      stamp = 0;
+    }
+    stamp++;
+  }
+
+  /**
+   * Marks a tile as visited by the current flood fill.
+   *
+   * @param tile The index of the tile.
+   * @return true if the tile was not visited yet.
+   */
+  public boolean visit(int tile) {
+    if (visitedStamps[tile] == stamp) {
+      return false;
+    }
+    visitedStamps[tile] = stamp;
+    return true;
+  }
+
+  /**
+   * Returns a validator accepting the tiles of an allowed type of a navigation grid. The same instance is returned on each call, reconfigured, so it
+   * must only be used by one search at a time.
+   *
+   * @param navigationGrid The navigation grid telling which tiles are of an allowed type.
+   * @param gameMap        The map whose occupied tiles are refused, or {@code null} to accept them.
+   * @return the validator.
+   */
+  public TileValidator walkableValidator(NavigationGrid navigationGrid, GameMap gameMap) {
+    walkableValidator.navigationGrid = navigationGrid;
+    walkableValidator.gameMap = gameMap;
+    return walkableValidator;
+  }
+
+  private static class WalkableValidator implements TileValidator {
+
+    private NavigationGrid navigationGrid;
+    private GameMap gameMap;
+
+    @Override
+    public boolean isValidTile(int x, int y) {
+      return navigationGrid.isWalkable(x, y) && (gameMap == null || !gameMap.isTileOccupied(x, y));
+    }
+  }
+
+}
@@ -0,0 +1,193 @@
+package game.adventurer.util;
+
+import static game.adventurer.util.MiscUtil.getDistance;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Position;
+import game.adventurer.model.creature.Creature;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * Path a creature keeps across ticks toward a goal, instead of computing a whole path on each move and only using its first step.
+ * <p>
+ * The path is followed step by step, and only repaired when it can't be followed as is:
+ * <ul>
+ *   <li>the next step is occupied: a short detour is searched toward a tile a few steps further, then spliced in place of the blocked steps,</li>
+ *   <li>the goal moved nearby: a short path from the former goal to the new one is appended, or the path is cut if it already goes through the new
+ *   goal.</li>
+ * </ul>
+ * It is planned again from scratch when the creature left the path, the goal moved farther, the tile types changed, or a repair failed.
+ * <p>
+ * An instance belongs to a single creature and is not thread-safe.
+ */
+public class PlannedPath {
+
+  /**
+   * How far, in steps, repairs look: the detours rejoin the path at most this far, and goals moving farther are planned again.
+   */
+  private static final int REPAIR_HORIZON = 4;
+
+  private final LinkedList<Position> steps = new LinkedList<>();
+  private Position goal;
+  private int tileTypesMask;
+  private long tilesVersion;
+
+  /**
+   * Number of steps served from the path as it was, of repairs, and of paths planned from scratch, since the creation of the path.
+   */
+  @Getter
+  private long cachedSteps = 0;
+  @Getter
+  private long repairs = 0;
+  @Getter
+  private long fullReplans = 0;
+
+  /**
+   * Replaces the path by one computed elsewhere.
+   *
+   * @param path     The path from the tile following the creature's position toward the goal, in walking order.
+   * @param goal     The goal of the path.
+   * @param creature The creature following the path.
+   * @param gameMap  The game map the path was computed on.
+   */
+  public void set(Collection<Position> path, Position goal, Creature creature, GameMap gameMap) {
+    steps.clear();
+    steps.addAll(path);
+    this.goal = goal;
+    this.tileTypesMask = creature.getAllowedTileTypesMask();
+    this.tilesVersion = gameMap.getTilesVersion();
+  }
+
+  public void clear() {
+    steps.clear();
+    goal = null;
+  }
+
+  /**
+   * Gives the next step toward a goal, reusing the path planned on previous calls as much as possible. The step is consumed: the creature is expected
+   * to move to it.
+   *
+   * @param creature The creature following the path, its allowed tile types are the only ones walked through.
+   * @param from     The position of the creature.
+   * @param goal     The goal position.
+   * @param gameMap  The game map containing the grid and tile information.
+   * @return the next step, or {@code null} if the goal can't be reached or is already reached.
+   */
+  public Position nextStep(Creature creature, Position from, Position goal, GameMap gameMap) {
+    if (from.equals(goal)) {
+      clear();
+      return null;
+    }
+    boolean reused = true;
+    if (steps.isEmpty() || getDistance(from, steps.getFirst()) != 1 || creature.getAllowedTileTypesMask() != tileTypesMask
+        || gameMap.getTilesVersion() != tilesVersion) {
+      // no path yet, the creature left it, or the tiles it can walk through changed
+      replan(creature, from, goal, gameMap);
+      reused = false;
+    } else {
+      if (!goal.equals(this.goal)) {
+        reused = false;
+        if (followGoal(creature, goal, gameMap)) {
+          repairs++;
+        } else {
+          replan(creature, from, goal, gameMap);
+        }
+      }
+      if (!steps.isEmpty() && gameMap.isTileOccupied(steps.getFirst().x(), steps.getFirst().y())) {
+        reused = false;
+        if (detour(creature, from, gameMap)) {
+          repairs++;
+        } else {
+          replan(creature, from, goal, gameMap);
+        }
+      }
+    }
+    if (steps.isEmpty()) {
+      return null;
+    }
+    if (reused) {
+      cachedSteps++;
+    }
+    return steps.removeFirst();
+  }
+
+  /**
+   * Moves the end of the path to the new goal, when it is close to the former one.
+   *
+   * @return true if the path now leads to the new goal.
+   */
+  private boolean followGoal(Creature creature, Position newGoal, GameMap gameMap) {
+    int index = steps.indexOf(newGoal);
+    if (index >= 0) {
+      // the path already goes through the new goal, cuts what follows it
+      while (steps.size() > index + 1) {
+        steps.removeLast();
+      }
+    } else if (steps.getLast().equals(goal) && getDistance(goal, newGoal) <= REPAIR_HORIZON) {
+      // (only when the path goes all the way to the former goal, not when it is the first leg of a longer one)
+      Set<Position> extension = PathfindingUtil.shortestPath(creature, goal, newGoal, gameMap);
+      if (extension.isEmpty() || extension.size() > REPAIR_HORIZON) {
+        return false;
+      }
+      steps.addAll(extension);
+    } else {
+      return false;
+    }
+    goal = newGoal;
+    return true;
+  }
+
+  /**
+   * Replaces the first steps of the path by a detour around the occupied next step, rejoining the path at most {@value #REPAIR_HORIZON} steps
+   * further, on an unoccupied tile.
+   *
+   * @return true if a detour was spliced in.
+   */
+  private boolean detour(Creature creature, Position from, GameMap gameMap) {
+    List<Position> ahead = new ArrayList<>(REPAIR_HORIZON);
+    Iterator<Position> iterator = steps.iterator();
+    while (iterator.hasNext() && ahead.size() < REPAIR_HORIZON) {
+      ahead.add(iterator.next());
+    }
+    for (int i = ahead.size() - 1; i > 0; i--) {
+      Position rejoin = ahead.get(i);
+      if (gameMap.isTileOccupied(rejoin.x(), rejoin.y())) {
+        continue;
+      }
+      Set<Position> detour = PathfindingUtil.shortestPath(creature, from, rejoin, gameMap);
+      if (detour.isEmpty() || detour.size() > 2 * REPAIR_HORIZON) {
+        return false;
+      }
+      for (int removed = 0; removed <= i; removed++) {
+        steps.removeFirst();
+      }
+      steps.addAll(0, detour);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Plans the whole path again, or the first steps of it on large maps.
+   */
+  private void replan(Creature creature, Position from, Position goal, GameMap gameMap) {
+    fullReplans++;
+    set(PathfindingUtil.firstSteps(creature, from, goal, gameMap), goal, creature, gameMap);
+  }
+
+  @Override
+  public String toString() {
+    return "PlannedPath{" +
+        "cachedSteps=" + cachedSteps +
+        ", repairs=" + repairs +
+        ", fullReplans=" + fullReplans +
+        '}';
+  }
+
+}
@@ -0,0 +1,158 @@
+package game.adventurer.util;
+
+/**
+ * Recursive shadowcasting, finding the tiles visible from an origin in a single pass.
+ * <p>
+ * The area around the origin is split in four quadrants (north, east, south, west), each scanned row by row going away from the origin. A row only
+ * spans the columns between a start and an end slope: an obstacle met in a row narrows the slopes scanned in the next rows, so the tiles in its
+ * shadow are never visited, and each visited tile is looked at once per quadrant. The slopes are kept as fractions of integers, so there is no
+ * rounding error.
+ * <p>
+ * A tile, obstacle or not, is visible when its center is lit, so the result is the same as tracing a Bresenham line to every tile: a line through
+ * the corner of two tiles goes through the one closest to the axis of the quadrant, and light doesn't go through a diagonal gap between two
+ * obstacles. A tile whose two neighbors toward the origin, in the row and in the column, are obstacles is neither visible nor lets light through.
+ * <p>
+ * Adapted from <a href="https://www.albertford.com/shadowcasting/">Albert Ford's description of symmetric shadowcasting</a>.
+ */
+public class ShadowCasting {
+
+  /**
+   * Tells if the tile at the given position blocks the sight. Only called for positions within the bounds of the grid.
+   */
+  @FunctionalInterface
+  public interface OpacityTest {
+
+    boolean isOpaque(int x, int y);
+  }
+
+  /**
+   * Receives the visible tiles. A tile on the boundary of two quadrants may be received twice.
+   */
+  @FunctionalInterface
+  public interface VisibleTileConsumer {
+
+    void accept(int x, int y);
+  }
+
+  // Transform of each quadrant, from (depth, column) to offsets from the origin: x = depth * DEPTH_X + column * COLUMN_X, and the same for y
+  private static final int[] DEPTH_X = {0, 1, 0, -1};
+  private static final int[] DEPTH_Y = {-1, 0, 1, 0};
+  private static final int[] COLUMN_X = {1, 0, 1, 0};
+  private static final int[] COLUMN_Y = {0, 1, 0, 1};
+
+  private final int originX;
+  private final int originY;
+  private final int radius;
+  private final int width;
+  private final int height;
+  private final OpacityTest opacityTest;
+  private final VisibleTileConsumer consumer;
+  private int quadrant;
+
+  private ShadowCasting(int originX, int originY, int radius, int width, int height, OpacityTest opacityTest, VisibleTileConsumer consumer) {
+    this.originX = originX;
+    this.originY = originY;
+    this.radius = radius;
+    this.width = width;
+    this.height = height;
+    this.opacityTest = opacityTest;
+    this.consumer = consumer;
+  }
+
+  /**
+   * Computes the tiles visible from an origin, up to a distance along the axis of each quadrant: the tiles of the square of side {@code 2 * radius + 1}
+   * centered on the origin. The origin itself is not given to the consumer, and its opacity is ignored.
+   *
+   * @param originX     The X coordinate of the origin.
+   * @param originY     The Y coordinate of the origin.
+   * @param radius      The maximum distance, in rows, from the origin.
+   * @param width       The width of the grid.
+   * @param height      The height of the grid.
+   * @param opacityTest Tells which tiles block the sight.
+   * @param consumer    Receives the visible tiles.
+   */
+  public static void compute(int originX, int originY, int radius, int width, int height, OpacityTest opacityTest, VisibleTileConsumer consumer) {
+    ShadowCasting shadowCasting = new ShadowCasting(originX, originY, radius, width, height, opacityTest, consumer);
+    for (int quadrant = 0; quadrant < 4; quadrant++) {
+      shadowCasting.quadrant = quadrant;
+      shadowCasting.scan(1, -1, 1, 1, 1);
+    }
+  }
+
+  /**
+   * Scans a row of the current quadrant, between the start slope {@code startNumerator / startDenominator} and the end slope
+   * {@code endNumerator / endDenominator} (denominators are positive), then the rows behind it that are lit.
+   */
+  private void scan(int depth, int startNumerator, int startDenominator, int endNumerator, int endDenominator) {
+    if (depth > radius) {
+      return;
+    }
+    int minColumn = Math.floorDiv(2 * depth * startNumerator + startDenominator, 2 * startDenominator); // depth * start, rounded half up
+    int maxColumn = -Math.floorDiv(endDenominator - 2 * depth * endNumerator, 2 * endDenominator); // rounded half down
+    boolean previousIsWall = false;
+    boolean hasPrevious = false;
+    for (int column = minColumn; column <= maxColumn; column++) {
+      int x = toX(depth, column);
+      int y = toY(depth, column);
+      boolean isWall;
+      if (x < 0 || x >= width || y < 0 || y >= height) {
+        isWall = true; // nothing to see past the edges of the grid
+      } else if (isBehindDiagonalGap(depth, column)) {
+        isWall = true; // hidden, and hiding what is behind
+      } else {
+        isWall = opacityTest.isOpaque(x, y);
+        if (isLit(depth, column, startNumerator, startDenominator, endNumerator, endDenominator)) {
+          consumer.accept(x, y);
+        }
+      }
+      if (hasPrevious && previousIsWall && !isWall) {
+        // the shadow of the previous tile ends, the next rows start at the left edge of this one
+        startNumerator = 2 * column - 1;
+        startDenominator = 2 * depth;
+      }
+      if (hasPrevious && !previousIsWall && isWall) {
+        // the lit part of the row ends, the next rows of that part end at the left edge of this tile
+        scan(depth + 1, startNumerator, startDenominator, 2 * column - 1, 2 * depth);
+      }
+      previousIsWall = isWall;
+      hasPrevious = true;
+    }
+    if (hasPrevious && !previousIsWall) {
+      scan(depth + 1, startNumerator, startDenominator, endNumerator, endDenominator);
+    }
+  }
+
+  /**
+   * Tells if the center of the tile is between the start and end slopes. A center right on a slope is lit, unless that slope is the edge of an
+   * obstacle on the side away from the axis of the quadrant: like a line going through the corner of two tiles, the light then goes through the tile
+   * closest to the axis, the obstacle.
+   *
+   * @return true if the center of the tile is lit.
+   */
+  private static boolean isLit(int depth, int column, int startNumerator, int startDenominator, int endNumerator, int endDenominator) {
+    long fromStart = (long) column * startDenominator - (long) depth * startNumerator;
+    long toEnd = (long) depth * endNumerator - (long) column * endDenominator;
+    return (startNumerator > 0 ? fromStart > 0 : fromStart >= 0) && (endNumerator < 0 ? toEnd > 0 : toEnd >= 0);
+  }
+
+  /**
+   * @return true if the tile is reached diagonally between two obstacles: its neighbor toward the origin in the previous row, and in its own row.
+   */
+  private boolean isBehindDiagonalGap(int depth, int column) {
+    if (column == 0) {
+      return false;
+    }
+    int towardAxis = column - Integer.signum(column);
+    return opacityTest.isOpaque(toX(depth - 1, column), toY(depth - 1, column))
+        && opacityTest.isOpaque(toX(depth, towardAxis), toY(depth, towardAxis));
+  }
+
+  private int toX(int depth, int column) {
+    return originX + depth * DEPTH_X[quadrant] + column * COLUMN_X[quadrant];
+  }
+
+  private int toY(int depth, int column) {
+    return originY + depth * DEPTH_Y[quadrant] + column * COLUMN_Y[quadrant];
+  }
+
+}
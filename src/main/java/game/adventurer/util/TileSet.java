@@ -0,0 +1,333 @@
+package game.adventurer.util;
+
+import game.adventurer.model.Position;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import lombok.Getter;
+
+/**
+ * Set of positions on a map, stored as one bit per tile ({@code index = y * width + x}) in a {@code long[]}.
+ * <p>
+ * Adding, removing and looking up a tile are O(1) and don't allocate, even less so with the overloads taking coordinates instead of a
+ * {@link Position}. Two sets of the same map are combined or compared word by word, 64 tiles at a time. The positions are iterated in the order of
+ * their indices, row by row.
+ * <p>
+ * A set can be {@link #freeze() frozen} to be shared: it then refuses any modification. An instance is not thread-safe.
+ */
+public class TileSet extends AbstractSet<Position> {
+
+  /**
+   * Receives the coordinates of the tiles visited by {@link #forEach(TileConsumer)} and {@link #forEachDifference}.
+   */
+  @FunctionalInterface
+  public interface TileConsumer {
+
+    void accept(int x, int y);
+  }
+
+  @Getter
+  private final int width;
+  @Getter
+  private final int height;
+  private final long[] words;
+  private int size = 0;
+  private int modifications = 0;
+  private boolean frozen = false;
+
+  /**
+   * Creates an empty set for a map of the given size.
+   *
+   * @param width  The width of the map.
+   * @param height The height of the map.
+   */
+  public TileSet(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.words = new long[(width * height + 63) >>> 6];
+  }
+
+  /**
+   * Creates a modifiable copy of a set.
+   *
+   * @param other The set to copy, frozen or not.
+   */
+  public TileSet(TileSet other) {
+    this.width = other.width;
+    this.height = other.height;
+    this.words = other.words.clone();
+    this.size = other.size;
+  }
+
+  /**
+   * Makes the set immutable: any later modification throws an {@link UnsupportedOperationException}.
+   *
+   * @return this set.
+   */
+  public TileSet freeze() {
+    frozen = true;
+    return this;
+  }
+
+  public boolean contains(int x, int y) {
+    if (x < 0 || x >= width || y < 0 || y >= height) {
+      return false;
+    }
+    int index = y * width + x;
+    return (words[index >>> 6] & (1L << index)) != 0;
+  }
+
+  @Override
+  public boolean contains(Object object) {
+    return object instanceof Position(int x, int y) && contains(x, y);
+  }
+
+  /**
+   * Adds a tile to the set.
+   *
+   * @return true if the tile was not in the set yet.
+   * @throws IndexOutOfBoundsException if the tile is outside the map.
+   */
+  public boolean add(int x, int y) {
+    checkModifiable();
+    int index = indexOf(x, y);
+    long bit = 1L << index;
+    if ((words[index >>> 6] & bit) != 0) {
+      return false;
+    }
+    words[index >>> 6] |= bit;
+    size++;
+    modifications++;
+    return true;
+  }
+
+  @Override
+  public boolean add(Position position) {
+    return add(position.x(), position.y());
+  }
+
+  /**
+   * Removes a tile from the set.
+   *
+   * @return true if the tile was in the set.
+   */
+  public boolean remove(int x, int y) {
+    checkModifiable();
+    if (!contains(x, y)) {
+      return false;
+    }
+    int index = y * width + x;
+    words[index >>> 6] &= ~(1L << index);
+    size--;
+    modifications++;
+    return true;
+  }
+
+  @Override
+  public boolean remove(Object object) {
+    return object instanceof Position(int x, int y) && remove(x, y);
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Position> positions) {
+    if (!(positions instanceof TileSet other) || !isSameMap(other)) {
+      return super.addAll(positions);
+    }
+    checkModifiable();
+    for (int i = 0; i < words.length; i++) {
+      words[i] |= other.words[i];
+    }
+    return updateSize();
+  }
+
+  @Override
+  public boolean removeAll(Collection<?> positions) {
+    if (!(positions instanceof TileSet other) || !isSameMap(other)) {
+      return super.removeAll(positions);
+    }
+    checkModifiable();
+    for (int i = 0; i < words.length; i++) {
+      words[i] &= ~other.words[i];
+    }
+    return updateSize();
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> positions) {
+    if (!(positions instanceof TileSet other) || !isSameMap(other)) {
+      return super.retainAll(positions);
+    }
+    checkModifiable();
+    for (int i = 0; i < words.length; i++) {
+      words[i] &= other.words[i];
+    }
+    return updateSize();
+  }
+
+  /**
+   * Makes this set hold the same tiles as another set of the same map.
+   *
+   * @param other The set to copy.
+   */
+  public void copyFrom(TileSet other) {
+    checkModifiable();
+    checkSameMap(other);
+    System.arraycopy(other.words, 0, words, 0, words.length);
+    size = other.size;
+    modifications++;
+  }
+
+  @Override
+  public void clear() {
+    checkModifiable();
+    if (size > 0) {
+      Arrays.fill(words, 0);
+      size = 0;
+      modifications++;
+    }
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Visits the tiles of the set, in the order of their indices.
+   *
+   * @param consumer Receives the coordinates of each tile.
+   */
+  public void forEach(TileConsumer consumer) {
+    for (int i = 0; i < words.length; i++) {
+      visitBits(i, words[i], consumer);
+    }
+  }
+
+  /**
+   * Visits the tiles in only one of two sets of the same map, in the order of their indices: the tiles of each set missing from the other. The
+   * difference is found word by word, with an exclusive or.
+   *
+   * @param other    The set to compare with.
+   * @param consumer Receives the coordinates of each tile in only one of the sets.
+   */
+  public void forEachDifference(TileSet other, TileConsumer consumer) {
+    checkSameMap(other);
+    for (int i = 0; i < words.length; i++) {
+      visitBits(i, words[i] ^ other.words[i], consumer);
+    }
+  }
+
+  @Override
+  public Iterator<Position> iterator() {
+    return new Iterator<>() {
+      private int next = nextIndex(0);
+      private int last = -1;
+      private int expectedModifications = modifications;
+
+      @Override
+      public boolean hasNext() {
+        return next >= 0;
+      }
+
+      @Override
+      public Position next() {
+        if (next < 0) {
+          throw new NoSuchElementException();
+        }
+        if (modifications != expectedModifications) {
+          throw new ConcurrentModificationException();
+        }
+        last = next;
+        next = nextIndex(next + 1);
+        return new Position(last % width, last / width);
+      }
+
+      @Override
+      public void remove() {
+        if (last < 0) {
+          throw new IllegalStateException();
+        }
+        TileSet.this.remove(last % width, last / width);
+        expectedModifications = modifications;
+        last = -1;
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (object instanceof TileSet other && isSameMap(other)) {
+      return Arrays.equals(words, other.words);
+    }
+    return super.equals(object);
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode(); // the sum of the hash codes of the positions, as required by the Set contract
+  }
+
+  private void visitBits(int wordIndex, long word, TileConsumer consumer) {
+    while (word != 0) {
+      int index = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+      consumer.accept(index % width, index / width);
+      word &= word - 1; // clears the lowest bit
+    }
+  }
+
+  /**
+   * @return the index of the first tile of the set from the given index, or -1 if there is none.
+   */
+  private int nextIndex(int from) {
+    int wordIndex = from >>> 6;
+    if (wordIndex >= words.length) {
+      return -1;
+    }
+    long word = words[wordIndex] & (-1L << from);
+    while (word == 0) {
+      if (++wordIndex == words.length) {
+        return -1;
+      }
+      word = words[wordIndex];
+    }
+    return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+  }
+
+  private int indexOf(int x, int y) {
+    if (x < 0 || x >= width || y < 0 || y >= height) {
+      throw new IndexOutOfBoundsException("Position (" + x + ", " + y + ") is outside of a " + width + "x" + height + " map");
+    }
+    return y * width + x;
+  }
+
+  private boolean updateSize() {
+    int newSize = 0;
+    for (long word : words) {
+      newSize += Long.bitCount(word);
+    }
+    boolean changed = newSize != size;
+    size = newSize;
+    modifications++;
+    return changed;
+  }
+
+  private boolean isSameMap(TileSet other) {
+    return width == other.width && height == other.height;
+  }
+
+  private void checkSameMap(TileSet other) {
+    if (!isSameMap(other)) {
+      throw new IllegalArgumentException("Sets of a " + width + "x" + height + " and a " + other.width + "x" + other.height + " map");
+    }
+  }
+
+  private void checkModifiable() {
+    if (frozen) {
+      throw new UnsupportedOperationException("The tile set is frozen");
+    }
+  }
+
+}
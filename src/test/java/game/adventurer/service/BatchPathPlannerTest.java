@@ -0,0 +1,80 @@
+package game.adventurer.service;
+
+import static game.adventurer.util.RandomGameMaps.createRandomGameMap;
+import static game.adventurer.util.RandomGameMaps.randomPathPosition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Position;
+import game.adventurer.model.Tile.Type;
+import game.adventurer.model.creature.Mugger;
+import game.adventurer.util.DistanceField;
+import game.adventurer.util.PathfindingUtil;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BatchPathPlannerTest {
+
+  private static final int SIZE = 30;
+
+  @Test
+  @DisplayName("A batch solved in parallel should give the same fields and paths as serial searches, in the order of the requests")
+  void testSolve_randomMaps_shouldMatchSerialSearches() {
+    Random random = new Random(17);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    BatchPathPlanner planner = new BatchPathPlanner(pool);
+    try {
+      for (int run = 0; run < 10; run++) {
+        // GIVEN a random map with some occupied tiles, and the requests of a few monsters
+        GameMap gameMap = createRandomGameMap(random, SIZE, 0.25);
+        for (int i = 0; i < 10; i++) {
+          gameMap.occupyTile(randomPathPosition(random, gameMap));
+        }
+        BatchPathPlanner.Batch batch = new BatchPathPlanner.Batch(gameMap);
+        List<Position> goals = new ArrayList<>();
+        List<Mugger> muggers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+          Position goal;
+          do {
+            goal = randomPathPosition(random, gameMap);
+          } while (goals.contains(goal)); // the same field asked twice is only built once
+          goals.add(goal);
+          batch.requestField(goal, Type.PATH.mask(), false);
+          Position start = randomPathPosition(random, gameMap);
+          Mugger mugger = new Mugger("Mugger" + i, start.x(), start.y(), null);
+          muggers.add(mugger);
+          batch.requestPath(mugger, start, goal);
+        }
+        // WHEN
+        BatchPathPlanner.Result result = planner.solve(batch);
+        // THEN
+        for (int i = 0; i < goals.size(); i++) {
+          DistanceField expected = DistanceField.build(gameMap, goals.get(i), Type.PATH.mask());
+          DistanceField actual = result.fields().get(i).distanceField();
+          for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+              assertEquals(expected.distanceAt(x, y), actual.distanceAt(x, y), "Distance to " + goals.get(i) + " from (" + x + ", " + y + ")");
+            }
+          }
+          Mugger mugger = muggers.get(i);
+          LinkedHashSet<Position> path = result.paths().get(mugger);
+          Position start = new Position(mugger.getTileX(), mugger.getTileY());
+          assertEquals(PathfindingUtil.shortestPath(mugger, start, goals.get(i), gameMap).size(), path.size(),
+              "The path from " + start + " to " + goals.get(i) + " should be a shortest one");
+        }
+        planner.apply(result, gameMap);
+        assertSame(result.fields().getFirst().distanceField(), gameMap.getDistanceField(goals.getFirst(), Type.PATH.mask()),
+            "The map should serve the fields of the batch");
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+}
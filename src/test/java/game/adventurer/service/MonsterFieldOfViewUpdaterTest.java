@@ -0,0 +1,97 @@
+package game.adventurer.service;
+
+import static game.adventurer.util.RandomGameMaps.createRandomGameMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.creature.Lurker;
+import game.adventurer.model.creature.Monster;
+import game.adventurer.model.creature.Mugger;
+import game.adventurer.model.creature.Sniffer;
+import game.adventurer.model.enums.Direction;
+import game.adventurer.model.enums.FieldOfViewAlgorithm;
+import game.adventurer.util.MiscUtil;
+import game.adventurer.util.TileSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MonsterFieldOfViewUpdaterTest {
+
+  private static final int SIZE = 40;
+
+  @Test
+  @DisplayName("Fields of view computed in parallel should be the same as the ones computed serially, and as the Bresenham lines")
+  void testUpdate_parallelAndSerial_shouldMatchBresenham() {
+    Random random = new Random(25);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int run = 0; run < 5; run++) {
+        // GIVEN a LARGE map with many monsters anywhere on it, facing any direction, and another map just like it
+        long seed = random.nextLong();
+        GameMap gameMap = createRandomGameMap(new Random(seed), SIZE, 0.25);
+        GameMap sameGameMap = createRandomGameMap(new Random(seed), SIZE, 0.25);
+        List<Monster> monsters = createRandomMonsters(random);
+        MonsterFieldOfViewUpdater parallelUpdater = new MonsterFieldOfViewUpdater(pool);
+        MonsterFieldOfViewUpdater serialUpdater = new MonsterFieldOfViewUpdater(pool);
+        serialUpdater.setParallel(false);
+        // WHEN each map computes the fields of view on its own cache
+        List<TileSet> parallelFieldsOfView = List.copyOf(parallelUpdater.update(gameMap, monsters).values());
+        List<TileSet> serialFieldsOfView = List.copyOf(serialUpdater.update(sameGameMap, monsters).values());
+        // THEN
+        for (int i = 0; i < monsters.size(); i++) {
+          Monster monster = monsters.get(i);
+          TileSet expected = MiscUtil.calculateFieldOfView(monster, gameMap, FieldOfViewAlgorithm.BRESENHAM);
+          String description = monster.getName() + " at (" + monster.getTileX() + ", " + monster.getTileY() + ")";
+          assertEquals(expected, parallelFieldsOfView.get(i), "Parallel field of view of " + description);
+          assertEquals(expected, serialFieldsOfView.get(i), "Serial field of view of " + description);
+          assertSame(serialFieldsOfView.get(i), monster.getVisibleTiles(), "The field of view should be handed to " + description);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Fields of view already in the cache of the map should not be computed again")
+  void testUpdate_cachedFieldsOfView_shouldNotBeComputedAgain() {
+    // GIVEN
+    Random random = new Random(25);
+    GameMap gameMap = createRandomGameMap(random, SIZE, 0.25);
+    List<Monster> monsters = createRandomMonsters(random);
+    MonsterFieldOfViewUpdater updater = new MonsterFieldOfViewUpdater();
+    Map<Monster, TileSet> first = updater.update(gameMap, monsters);
+    long computed = updater.getFieldsOfViewCount();
+    // WHEN
+    Map<Monster, TileSet> second = updater.update(gameMap, monsters);
+    // THEN
+    assertEquals(computed, updater.getFieldsOfViewCount());
+    for (Monster monster : monsters) {
+      assertSame(first.get(monster), second.get(monster), "The field of view of " + monster.getName() + " should come from the cache");
+      assertSame(MiscUtil.calculateFieldOfView(monster, gameMap), second.get(monster), "The map should serve the same field of view");
+    }
+  }
+
+  private static List<Monster> createRandomMonsters(Random random) {
+    List<Monster> monsters = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      int x = random.nextInt(SIZE);
+      int y = random.nextInt(SIZE);
+      Monster monster = switch (i % 3) {
+        case 0 -> new Mugger("Mugger" + i, x, y, null);
+        case 1 -> new Sniffer("Sniffer" + i, x, y, null);
+        default -> new Lurker("Lurker" + i, x, y, null);
+      };
+      monster.setFacingDirection(Direction.values()[random.nextInt(Direction.values().length)]);
+      monsters.add(monster);
+    }
+    return monsters;
+  }
+
+}
@@ -0,0 +1,54 @@
+package game.adventurer.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Tile;
+import game.adventurer.model.Tile.Type;
+import game.adventurer.model.creature.Adventurer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BresenhamRaysTest {
+
+  private static final int SIZE = 20;
+
+  @Test
+  @DisplayName("A line should be blocked by a WOOD tile on it, and by a diagonal step between two WOOD tiles")
+  void testIsClear_shouldBeBlockedByWoodsOnTheLine() {
+    // GIVEN a map of paths with a WOOD tile on the line from (2, 2) to (10, 6), and two WOOD tiles around a diagonal step of the line to (6, 10)
+    GameMap gameMap = createGameMap();
+    gameMap.setTileTypeAt(6, 4, Type.WOOD);
+    gameMap.setTileTypeAt(2, 3, Type.WOOD);
+    gameMap.setTileTypeAt(3, 2, Type.WOOD);
+    // WHEN THEN
+    assertFalse(BresenhamRays.isClear(2, 2, 10, 6, gameMap));
+    assertFalse(BresenhamRays.isClear(2, 2, 6, 10, gameMap));
+    assertTrue(BresenhamRays.isClear(5, 5, 13, 5, gameMap));
+    assertTrue(BresenhamRays.isClear(6, 8, 6, 4, gameMap), "The target itself doesn't block the line");
+  }
+
+  @Test
+  @DisplayName("The origin on a WOOD tile should block every line but the one to itself")
+  void testIsClear_originOnWood_shouldBeBlocked() {
+    // GIVEN
+    GameMap gameMap = createGameMap();
+    gameMap.setTileTypeAt(8, 8, Type.WOOD);
+    // WHEN THEN
+    assertFalse(BresenhamRays.isClear(8, 8, 9, 8, gameMap));
+    assertFalse(BresenhamRays.isClear(8, 8, 0, 16, gameMap));
+    assertTrue(BresenhamRays.isClear(8, 8, 8, 8, gameMap));
+  }
+
+  private static GameMap createGameMap() {
+    Tile[][] grid = new Tile[SIZE][SIZE];
+    for (int y = 0; y < SIZE; y++) {
+      for (int x = 0; x < SIZE; x++) {
+        grid[y][x] = new Tile(Type.PATH, x, y);
+      }
+    }
+    return new GameMap(grid, SIZE, SIZE, new Adventurer("Adventurer", 0, 0), null);
+  }
+
+}
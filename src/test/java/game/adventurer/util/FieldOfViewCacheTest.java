@@ -0,0 +1,68 @@
+package game.adventurer.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Position;
+import game.adventurer.model.Tile;
+import game.adventurer.model.Tile.Type;
+import game.adventurer.model.creature.Adventurer;
+import game.adventurer.model.creature.Mugger;
+import game.adventurer.model.enums.Direction;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FieldOfViewCacheTest {
+
+  private static final int SIZE = 10;
+
+  @Test
+  @DisplayName("The field of view should be served from the cache until the creature moves, turns, or a tile changes type")
+  void testCalculateFieldOfView_sameInputs_shouldBeCached() {
+    // GIVEN
+    GameMap gameMap = createGameMap();
+    FieldOfViewCache cache = gameMap.getFieldOfViewCache();
+    Mugger mugger = new Mugger("Mugger", 5, 5, null);
+    mugger.setFacingDirection(Direction.NORTH);
+    // WHEN
+    Set<Position> first = MiscUtil.calculateFieldOfView(mugger, gameMap);
+    Set<Position> second = MiscUtil.calculateFieldOfView(mugger, gameMap);
+    // THEN
+    assertSame(first, second, "A creature standing still should get the cached field of view");
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    assertThrows(UnsupportedOperationException.class, () -> first.add(new Position(0, 0)), "The cached field of view should be immutable");
+
+    // WHEN turning, then turning back
+    mugger.setFacingDirection(Direction.SOUTH);
+    Set<Position> turned = MiscUtil.calculateFieldOfView(mugger, gameMap);
+    mugger.setFacingDirection(Direction.NORTH);
+    // THEN
+    assertNotSame(first, turned);
+    assertSame(first, MiscUtil.calculateFieldOfView(mugger, gameMap));
+    assertEquals(2, cache.getHits());
+
+    // WHEN a tile changes type
+    gameMap.setTileTypeAt(5, 3, Type.WOOD);
+    Set<Position> afterChange = MiscUtil.calculateFieldOfView(mugger, gameMap);
+    // THEN
+    assertEquals(1, cache.getInvalidations());
+    assertEquals(MiscUtil.calculateFieldOfView(mugger, gameMap, MiscUtil.getFieldOfViewAlgorithm()), afterChange,
+        "The field of view should be computed again on the new tiles");
+  }
+
+  private static GameMap createGameMap() {
+    Tile[][] grid = new Tile[SIZE][SIZE];
+    for (int y = 0; y < SIZE; y++) {
+      for (int x = 0; x < SIZE; x++) {
+        grid[y][x] = new Tile(Type.PATH, x, y);
+      }
+    }
+    return new GameMap(grid, SIZE, SIZE, new Adventurer("Adventurer", 0, 0), null);
+  }
+
+}
@@ -0,0 +1,75 @@
+package game.adventurer.util;
+
+import static game.adventurer.util.RandomGameMaps.createRandomGameMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Position;
+import game.adventurer.model.Tile.Type;
+import game.adventurer.model.creature.Adventurer;
+import game.adventurer.model.creature.Creature;
+import game.adventurer.model.creature.Lurker;
+import game.adventurer.model.creature.Mugger;
+import game.adventurer.model.creature.Sniffer;
+import game.adventurer.model.enums.Direction;
+import game.adventurer.model.enums.FieldOfViewAlgorithm;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LineOfSightTableTest {
+
+  private static final int SIZE = 20;
+
+  @Test
+  @DisplayName("The fields of view looked up in the table should be the same as the ones traced, for every kind of creature")
+  void testCalculateFieldOfView_withTable_shouldMatchBresenham() {
+    Random random = new Random(23);
+    for (int run = 0; run < 20; run++) {
+      // GIVEN a MEDIUM map with its table
+      GameMap gameMap = createRandomGameMap(random, SIZE, 0.25);
+      assertNotNull(gameMap.getLineOfSightTable());
+      for (int i = 0; i < 50; i++) {
+        // and a creature anywhere on it (on a WOOD tile too) facing any direction
+        Creature creature = createRandomCreature(random);
+        creature.setFacingDirection(Direction.values()[random.nextInt(Direction.values().length)]);
+        // WHEN
+        Set<Position> expected = MiscUtil.calculateFieldOfView(creature, gameMap, FieldOfViewAlgorithm.BRESENHAM);
+        Set<Position> actual = MiscUtil.calculateFieldOfView(creature, gameMap);
+        // THEN
+        assertEquals(expected, actual, "Field of view of " + creature.getClass().getSimpleName() + " at (" + creature.getTileX() + ", "
+            + creature.getTileY() + ") facing " + creature.getFacingDirection());
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("The table should be rebuilt when a tile changes, and not built at all for a LARGE map")
+  void testGetLineOfSightTable_shouldFollowTilesAndBudget() {
+    // GIVEN
+    Random random = new Random(23);
+    GameMap gameMap = createRandomGameMap(random, SIZE, 0.25);
+    LineOfSightTable table = gameMap.getLineOfSightTable();
+    // WHEN
+    gameMap.setTileTypeAt(5, 5, gameMap.getTileTypeAt(5, 5) == Type.WOOD ? Type.PATH : Type.WOOD);
+    // THEN
+    assertNotSame(table, gameMap.getLineOfSightTable());
+    assertNull(createRandomGameMap(random, 40, 0.25).getLineOfSightTable());
+  }
+
+  private static Creature createRandomCreature(Random random) {
+    int x = random.nextInt(SIZE);
+    int y = random.nextInt(SIZE);
+    return switch (random.nextInt(4)) {
+      case 0 -> new Adventurer("Adventurer", x, y);
+      case 1 -> new Mugger("Mugger", x, y, null);
+      case 2 -> new Sniffer("Sniffer", x, y, null);
+      default -> new Lurker("Lurker", x, y, null);
+    };
+  }
+
+}
@@ -0,0 +1,51 @@
+package game.adventurer.util;
+
+import static game.adventurer.util.RandomGameMaps.createRandomGameMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Position;
+import game.adventurer.model.creature.Adventurer;
+import game.adventurer.model.creature.Creature;
+import game.adventurer.model.creature.Lurker;
+import game.adventurer.model.creature.Mugger;
+import game.adventurer.model.creature.Sniffer;
+import game.adventurer.model.enums.Direction;
+import game.adventurer.model.enums.FieldOfViewAlgorithm;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MiscUtilTest {
+
+  private static final int SIZE = 20;
+
+  @Test
+  @DisplayName("canSee should tell if a tile is in the field of view of a creature, for every tile of the map")
+  void testCanSee_randomMaps_shouldMatchFieldOfView() {
+    Random random = new Random(22);
+    for (int run = 0; run < 300; run++) {
+      // GIVEN a random map, and a creature anywhere on it facing any direction
+      GameMap gameMap = createRandomGameMap(random, SIZE, random.nextDouble() * 0.5);
+      Creature creature = switch (random.nextInt(4)) {
+        case 0 -> new Adventurer("Adventurer", random.nextInt(SIZE), random.nextInt(SIZE));
+        case 1 -> new Mugger("Mugger", random.nextInt(SIZE), random.nextInt(SIZE), null);
+        case 2 -> new Sniffer("Sniffer", random.nextInt(SIZE), random.nextInt(SIZE), null);
+        default -> new Lurker("Lurker", random.nextInt(SIZE), random.nextInt(SIZE), null);
+      };
+      creature.setFacingDirection(Direction.values()[random.nextInt(Direction.values().length)]);
+      Set<Position> fieldOfView = MiscUtil.calculateFieldOfView(creature, gameMap, FieldOfViewAlgorithm.BRESENHAM);
+      for (int y = 0; y < SIZE; y++) {
+        for (int x = 0; x < SIZE; x++) {
+          // WHEN
+          boolean canSee = MiscUtil.canSee(creature, x, y, gameMap);
+          // THEN
+          assertEquals(fieldOfView.contains(new Position(x, y)), canSee,
+              creature.getClass().getSimpleName() + " at (" + creature.getTileX() + ", " + creature.getTileY() + ") looking at (" + x + ", " + y + ")");
+        }
+      }
+    }
+  }
+
+}
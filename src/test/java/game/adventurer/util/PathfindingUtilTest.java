@@ -0,0 +1,648 @@
+package game.adventurer.util;
+
+import static game.adventurer.util.RandomGameMaps.createRandomGameMap;
+import static game.adventurer.util.RandomGameMaps.randomPathPosition;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.management.ThreadMXBean;
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Position;
+import game.adventurer.model.Tile;
+import game.adventurer.model.Tile.Type;
+import game.adventurer.model.creature.Adventurer;
+import game.adventurer.model.creature.Mugger;
+import game.adventurer.model.enums.MonsterStatus;
+import game.adventurer.model.enums.Move;
+import game.adventurer.model.enums.PathfindingAlgorithm;
+import game.adventurer.model.enums.PursuitStrategy;
+import game.adventurer.util.PathfindingUtil.TileValidator;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PathfindingUtilTest {
+
+  /*
+   * 0 = PATH, 1 = WOOD
+   */
+  private static final int[][] LAYOUT = {
+      {0, 0, 0, 1, 0},
+      {1, 1, 0, 1, 0},
+      {0, 0, 0, 1, 0},
+      {0, 1, 1, 1, 0},
+      {0, 0, 0, 0, 0},
+  };
+  private static final int SIZE = LAYOUT.length;
+  private static final TileValidator PATH_ONLY = (x, y) -> LAYOUT[y][x] == 0;
+  /**
+   * Allowance for the few objects a search may still allocate, depending on the JIT and the JVM flags (no escape analysis with -Xint, or a coverage
+   * agent): searches allocating their working arrays would go well beyond it.
+   */
+  private static final long MAX_ALLOCATED_BYTES_PER_SEARCH = 512;
+
+  @Test
+  @DisplayName("shortestPath should return the length of the shortest path around the woods")
+  void testShortestPath_pathExists_shouldReturnDistance() {
+    // GIVEN the layout, WHEN
+    int distance = PathfindingUtil.shortestPath(0, 0, 4, 0, SIZE, SIZE, PATH_ONLY);
+    // THEN
+    assertEquals(16, distance, "The only way from (0,0) to (4,0) goes around the wood wall");
+  }
+
+  @Test
+  @DisplayName("shortestPath should return 0 when start and end are the same tile")
+  void testShortestPath_sameTile_shouldReturnZero() {
+    assertEquals(0, PathfindingUtil.shortestPath(2, 2, 2, 2, SIZE, SIZE, PATH_ONLY));
+  }
+
+  @Test
+  @DisplayName("hasPath should return false when the target is walled in")
+  void testHasPath_noPath_shouldReturnFalse() {
+    // GIVEN a validator refusing the only gap in the wall
+    TileValidator blockedGap = (x, y) -> PATH_ONLY.isValidTile(x, y) && !(x == 0 && y == 4);
+    // WHEN & THEN
+    assertFalse(PathfindingUtil.hasPath(0, 0, 4, 0, SIZE, SIZE, blockedGap), "The wall should not be crossed");
+    assertTrue(PathfindingUtil.hasPath(0, 0, 4, 0, SIZE, SIZE, PATH_ONLY), "A path exists when the gap is open");
+  }
+
+  @Test
+  @DisplayName("Consecutive searches on maps of different sizes should not interfere")
+  void testShortestPath_reusedEngine_shouldNotKeepPreviousState() {
+    // GIVEN a first search on a bigger open map
+    assertEquals(78, PathfindingUtil.shortestPath(0, 0, 39, 39, 40, 40, (x, y) -> true));
+    // WHEN searching again on the small layout, then again on the big one
+    int smallDistance = PathfindingUtil.shortestPath(0, 0, 4, 0, SIZE, SIZE, PATH_ONLY);
+    int bigDistance = PathfindingUtil.shortestPath(39, 0, 0, 39, 40, 40, (x, y) -> true);
+    // THEN
+    assertEquals(16, smallDistance);
+    assertEquals(78, bigDistance);
+  }
+
+  @Test
+  @DisplayName("A* shortestPath should return every step in walking order, the goal included")
+  void testShortestPathAStar_pathExists_shouldReturnOrderedSteps() {
+    // GIVEN
+    GameMap gameMap = createGameMap();
+    Mugger mugger = new Mugger("Mugger", 0, 0, null);
+    // WHEN
+    List<Position> path = new ArrayList<>(PathfindingUtil.shortestPath(mugger, new Position(0, 0), new Position(4, 0), gameMap));
+    // THEN
+    assertEquals(16, path.size(), "The path should contain one position per move");
+    assertEquals(new Position(4, 0), path.getLast(), "The path should end on the goal");
+    Position previous = new Position(0, 0);
+    for (Position step : path) {
+      assertEquals(1, MiscUtil.getDistance(previous, step), "Each step should be adjacent to the previous one");
+      assertEquals(Type.PATH, gameMap.getTileTypeAt(step.x(), step.y()), "A Mugger only walks on PATH tiles");
+      previous = step;
+    }
+  }
+
+  @Test
+  @DisplayName("A* shortestPath should avoid occupied tiles while the navigation grid ignores them")
+  void testShortestPathAStar_occupiedTile_shouldBeAvoided() {
+    // GIVEN the only gap in the wall is occupied
+    GameMap gameMap = createGameMap();
+    gameMap.occupyTile(new Position(0, 4));
+    Mugger mugger = new Mugger("Mugger", 0, 0, null);
+    // WHEN
+    Set<Position> path = PathfindingUtil.shortestPath(mugger, new Position(0, 0), new Position(4, 0), gameMap);
+    int distance = PathfindingUtil.shortestPath(0, 0, 4, 0, SIZE, SIZE, gameMap.getNavigationGrid(mugger.getAllowedTileTypesMask())::isWalkable);
+    // THEN
+    assertTrue(path.isEmpty(), "No path should go through an occupied tile");
+    assertEquals(16, distance, "The navigation grid does not take occupied tiles into account");
+  }
+
+  @Test
+  @DisplayName("A distance field should match the BFS distances, step around occupied tiles and be shared until evicted")
+  void testDistanceField_randomMaps_shouldMatchShortestPaths() {
+    Random random = new Random(3);
+    for (int run = 0; run < 20; run++) {
+      // GIVEN a random map with some occupied tiles, and a goal
+      GameMap gameMap = createRandomGameMap(random, 20, 0.3);
+      Position goal = randomPathPosition(random, gameMap);
+      for (int i = 0; i < 20; i++) {
+        gameMap.occupyTile(randomPathPosition(random, gameMap));
+      }
+      int tileTypesMask = Type.PATH.mask();
+      TileValidator pathOnly = (x, y) -> gameMap.getTileTypeAt(x, y) == Type.PATH;
+      // WHEN
+      DistanceField distanceField = DistanceField.build(gameMap, goal, tileTypesMask);
+      // THEN every PATH tile is at its BFS distance, and steps on a free neighbor one move closer when there is one
+      for (int y = 0; y < 20; y++) {
+        for (int x = 0; x < 20; x++) {
+          int expected = gameMap.getTileTypeAt(x, y) == Type.PATH
+              ? PathfindingUtil.shortestPath(x, y, goal.x(), goal.y(), 20, 20, pathOnly) : DistanceField.UNREACHABLE;
+          assertEquals(expected, distanceField.distanceAt(x, y), "Distance to " + goal + " from (" + x + ", " + y + ")");
+          if (expected <= 0) {
+            continue;
+          }
+          boolean freeCloserNeighbor = false;
+          for (Move move : Move.values()) {
+            int neighborX = x + move.getDx();
+            int neighborY = y + move.getDy();
+            freeCloserNeighbor |= !MiscUtil.isOutOfMapBounds(gameMap, neighborX, neighborY) && !gameMap.isTileOccupied(neighborX, neighborY)
+                && distanceField.distanceAt(neighborX, neighborY) == expected - 1;
+          }
+          Position nextStep = distanceField.nextStep(new Position(x, y), gameMap);
+          assertEquals(freeCloserNeighbor, nextStep != null, "A step should be found from (" + x + ", " + y + ") when a free neighbor is closer");
+          if (nextStep != null) {
+            assertFalse(gameMap.isTileOccupied(nextStep.x(), nextStep.y()), "The next step should not be occupied");
+            assertEquals(1, MiscUtil.getDistance(new Position(x, y), nextStep), "The next step should be a neighbor");
+            assertEquals(expected - 1, distanceField.distanceAt(nextStep.x(), nextStep.y()), "The next step should get closer to " + goal);
+          }
+        }
+      }
+      // and two monsters chasing the same goal through the same tile types share the field, until 8 other fields evict it
+      DistanceField sharedField = gameMap.getDistanceField(goal, tileTypesMask);
+      assertSame(sharedField, gameMap.getDistanceField(goal, tileTypesMask), "The field should be shared");
+      int otherGoals = 0;
+      for (int tile = 0; otherGoals < 8; tile++) {
+        Position otherGoal = new Position(tile % 20, tile / 20);
+        if (!otherGoal.equals(goal)) {
+          gameMap.getDistanceField(otherGoal, tileTypesMask);
+          otherGoals++;
+        }
+      }
+      assertNotSame(sharedField, gameMap.getDistanceField(goal, tileTypesMask), "The least recently used field should be evicted");
+    }
+  }
+
+  @Test
+  @DisplayName("Jump Point Search should find paths as short as A* on random maps")
+  void testShortestPathJumpPointSearch_randomMaps_shouldMatchAStarLength() {
+    Random random = new Random(42);
+    for (int run = 0; run < 200; run++) {
+      // GIVEN a random 20x20 map with some occupied tiles
+      GameMap gameMap = createRandomGameMap(random, 20, 0.2 + random.nextDouble() * 0.3);
+      for (int i = 0; i < 5; i++) {
+        gameMap.occupyTile(new Position(random.nextInt(20), random.nextInt(20)));
+      }
+      Mugger mugger = new Mugger("Mugger", 0, 0, null);
+      Position start = new Position(random.nextInt(20), random.nextInt(20));
+      Position goal = new Position(random.nextInt(20), random.nextInt(20));
+      // WHEN both algorithms are asked for the same path, on the same map
+      Set<Position> aStarPath = PathfindingUtil.shortestPath(mugger, start, goal, gameMap, PathfindingAlgorithm.A_STAR);
+      Set<Position> jpsPath = PathfindingUtil.shortestPath(mugger, start, goal, gameMap, PathfindingAlgorithm.JUMP_POINT_SEARCH);
+      // THEN
+      assertEquals(2, gameMap.getPathCache().getMisses(), "The path of one algorithm should not be served for the other one");
+      assertEquals(aStarPath.size(), jpsPath.size(), "Both algorithms should find a shortest path from " + start + " to " + goal);
+      Position previous = start;
+      for (Position step : jpsPath) {
+        assertEquals(1, MiscUtil.getDistance(previous, step), "Each step should be adjacent to the previous one");
+        assertEquals(Type.PATH, gameMap.getTileTypeAt(step.x(), step.y()), "A Mugger only walks on PATH tiles");
+        assertFalse(gameMap.isTileOccupied(step.x(), step.y()), "Occupied tiles should be avoided");
+        previous = step;
+      }
+      if (!jpsPath.isEmpty()) {
+        assertEquals(goal, jpsPath.stream().toList().getLast(), "The path should end on the goal");
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("shortestPath should serve repeated requests from the cache until the map changes")
+  void testShortestPath_repeatedRequests_shouldUseCacheUntilMapChanges() {
+    // GIVEN
+    GameMap gameMap = createGameMap();
+    Mugger mugger = new Mugger("Mugger", 0, 0, null);
+    PathCache pathCache = gameMap.getPathCache();
+    // WHEN the same path is requested twice
+    Set<Position> firstPath = PathfindingUtil.shortestPath(mugger, new Position(0, 0), new Position(4, 0), gameMap);
+    firstPath.clear(); // consuming the returned path must not alter the cached one
+    Set<Position> secondPath = PathfindingUtil.shortestPath(mugger, new Position(0, 0), new Position(4, 0), gameMap);
+    // THEN
+    assertEquals(1, pathCache.getMisses());
+    assertEquals(1, pathCache.getHits());
+    assertEquals(16, secondPath.size());
+
+    // WHEN the map changes
+    gameMap.occupyTile(new Position(0, 4));
+    Set<Position> blockedPath = PathfindingUtil.shortestPath(mugger, new Position(0, 0), new Position(4, 0), gameMap);
+    // THEN the path is computed again
+    assertTrue(blockedPath.isEmpty(), "The outdated path should not be served");
+    assertEquals(2, pathCache.getMisses());
+    assertEquals(1, pathCache.getInvalidations());
+  }
+
+  @Test
+  @DisplayName("Connected components should agree with hasPath on random maps")
+  void testConnectedComponents_randomMaps_shouldMatchHasPath() {
+    Random random = new Random(7);
+    for (int run = 0; run < 50; run++) {
+      // GIVEN
+      GameMap gameMap = createRandomGameMap(random, 20, 0.3 + random.nextDouble() * 0.2);
+      // WHEN
+      ConnectedComponents components = gameMap.getConnectedComponents(Type.PATH.mask());
+      // THEN
+      for (int i = 0; i < 50; i++) {
+        int x1 = random.nextInt(20);
+        int y1 = random.nextInt(20);
+        int x2 = random.nextInt(20);
+        int y2 = random.nextInt(20);
+        if (gameMap.getTileTypeAt(x1, y1) != Type.PATH || gameMap.getTileTypeAt(x2, y2) != Type.PATH) {
+          continue;
+        }
+        assertEquals(PathfindingUtil.hasPath(x1, y1, x2, y2, 20, 20, (x, y) -> gameMap.getTileTypeAt(x, y) == Type.PATH),
+            components.areConnected(x1, y1, x2, y2));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("HPA* first legs should be walkable and only found when the goal is reachable, also after tiles change")
+  void testHierarchicalPathfinder_randomMaps_shouldFindValidFirstLegs() {
+    Random random = new Random(11);
+    for (int run = 0; run < 20; run++) {
+      // GIVEN a large random map, whose pathfinder is built before some tiles change type
+      GameMap gameMap = createRandomGameMap(random, 40, 0.25 + random.nextDouble() * 0.15);
+      HierarchicalPathfinder pathfinder = gameMap.getHierarchicalPathfinder(Type.PATH.mask());
+      for (int i = 0; i < 20; i++) {
+        gameMap.setTileTypeAt(random.nextInt(40), random.nextInt(40), random.nextBoolean() ? Type.PATH : Type.WOOD);
+      }
+      HierarchicalPathfinder freshPathfinder = new HierarchicalPathfinder(gameMap, Type.PATH.mask());
+      ConnectedComponents components = gameMap.getConnectedComponents(Type.PATH.mask());
+      for (int i = 0; i < 30; i++) {
+        Position start = new Position(random.nextInt(40), random.nextInt(40));
+        Position goal = new Position(random.nextInt(40), random.nextInt(40));
+        if (gameMap.getTileTypeAt(start.x(), start.y()) != Type.PATH) {
+          continue;
+        }
+        // WHEN
+        Set<Position> firstLeg = pathfinder.firstLeg(start, goal, (x, y) -> true);
+        // THEN
+        if (firstLeg == null) {
+          assertEquals(start.x() / HierarchicalPathfinder.CLUSTER_SIZE, goal.x() / HierarchicalPathfinder.CLUSTER_SIZE);
+          assertEquals(start.y() / HierarchicalPathfinder.CLUSTER_SIZE, goal.y() / HierarchicalPathfinder.CLUSTER_SIZE);
+          continue;
+        }
+        assertEquals(components.areConnected(start.x(), start.y(), goal.x(), goal.y()), !firstLeg.isEmpty(),
+            "A first leg should be found from " + start + " to " + goal + " if and only if they are connected");
+        assertEquals(firstLeg, freshPathfinder.firstLeg(start, goal, (x, y) -> true),
+            "The incrementally rebuilt graph should give the same result as a new one");
+        Position previous = start;
+        for (Position step : firstLeg) {
+          assertEquals(1, MiscUtil.getDistance(previous, step), "Each step should be adjacent to the previous one");
+          assertEquals(Type.PATH, gameMap.getTileTypeAt(step.x(), step.y()), "Only valid tiles should be walked through");
+          previous = step;
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("D* Lite should keep finding shortest paths while the goal moves and tiles get occupied or freed")
+  void testDStarLite_movingGoalAndOccupiedTiles_shouldMatchAStarDistance() {
+    Random random = new Random(3);
+    for (int run = 0; run < 30; run++) {
+      // GIVEN a random map and a planner pursuing a goal
+      GameMap gameMap = createRandomGameMap(random, 20, 0.2 + random.nextDouble() * 0.2);
+      DStarLite planner = new DStarLite(gameMap, Type.PATH.mask());
+      Position monster = randomPathPosition(random, gameMap);
+      Position goal = randomPathPosition(random, gameMap);
+      GridAStar aStar = new GridAStar();
+      List<Position> occupiedTiles = new ArrayList<>();
+      for (int tick = 0; tick < 40; tick++) {
+        // WHEN the goal moves, some tiles get occupied or freed, then the planner replans
+        Move move = Move.values()[random.nextInt(4)];
+        Position goalStep = new Position(goal.x() + move.getDx(), goal.y() + move.getDy());
+        if (!MiscUtil.isOutOfMapBounds(gameMap, goalStep.x(), goalStep.y())
+            && gameMap.getTileTypeAt(goalStep.x(), goalStep.y()) == Type.PATH) {
+          goal = goalStep;
+        }
+        Position tile = randomPathPosition(random, gameMap);
+        if (random.nextBoolean() && !tile.equals(goal) && !gameMap.isTileOccupied(tile.x(), tile.y())) {
+          gameMap.occupyTile(tile);
+          occupiedTiles.add(tile);
+        } else if (!occupiedTiles.isEmpty()) {
+          gameMap.freeTile(occupiedTiles.remove(random.nextInt(occupiedTiles.size())));
+        }
+        Position nextStep = planner.nextStep(monster, goal);
+        // THEN
+        TileValidator validator = (x, y) -> gameMap.getTileTypeAt(x, y) == Type.PATH && !gameMap.isTileOccupied(x, y);
+        int expected = aStar.search(monster.x(), monster.y(), goal.x(), goal.y(), 20, 20, validator);
+        assertEquals(expected, planner.getDistanceToGoal(), "Replan " + tick + " from " + monster + " to " + goal);
+        if (nextStep != null) {
+          assertEquals(expected - 1, aStar.search(nextStep.x(), nextStep.y(), goal.x(), goal.y(), 20, 20, validator),
+              "The next step should be on a shortest path");
+          monster = nextStep;
+        }
+      }
+      assertEquals(1, planner.getFullSearchesCount(), "Only the first search should start from scratch");
+    }
+  }
+
+  @Test
+  @DisplayName("D* Lite should refuse a map too large for its keys to fit in an int")
+  void testDStarLite_tooLargeMap_shouldBeRefused() {
+    // GIVEN
+    GameMap largeMap = createRandomGameMap(new Random(3), 200, 0);
+    GameMap tooLargeMap = createRandomGameMap(new Random(3), 220, 0);
+    // WHEN THEN
+    assertDoesNotThrow(() -> new DStarLite(largeMap, Type.PATH.mask()));
+    assertThrows(IllegalArgumentException.class, () -> new DStarLite(tooLargeMap, Type.PATH.mask()));
+    assertTrue(DStarLite.supportsMapSize(200, 200));
+    assertFalse(DStarLite.supportsMapSize(220, 220));
+  }
+
+  @Test
+  @DisplayName("With the incremental strategy, a monster on a map too large for D* Lite should pursue with the distance field")
+  void testPursue_incrementalStrategyOnTooLargeMap_shouldFallBackToDistanceField() {
+    // GIVEN an alerted Mugger on an open map too large for D* Lite
+    GameMap gameMap = createRandomGameMap(new Random(3), 220, 0);
+    gameMap.setPursuitStrategy(PursuitStrategy.INCREMENTAL);
+    Mugger mugger = new Mugger("Mugger", 100, 100, null);
+    mugger.setStatus(MonsterStatus.ALERTED);
+    mugger.setLastSeenAdventurerPosition(new Position(110, 100));
+    // WHEN
+    assertDoesNotThrow(() -> mugger.pursue(gameMap));
+    // THEN
+    assertNull(mugger.getPursuitPlanner(), "No planner should be created");
+    assertEquals(new Position(101, 100), mugger.getCurrentPosition(), "The Mugger should step toward the adventurer");
+  }
+
+  @Test
+  @DisplayName("calculateSearchArea should find the same area as the former search, running hasPath for each tile")
+  void testCalculateSearchArea_randomMaps_shouldMatchFormerSearch() {
+    Random random = new Random(5);
+    for (int run = 0; run < 200; run++) {
+      // GIVEN a random map and a monster having stored a partial field of view around the last seen position
+      GameMap gameMap = createRandomGameMap(random, 20, 0.1 + random.nextDouble() * 0.4);
+      Position lastSeenPosition = new Position(random.nextInt(20), random.nextInt(20));
+      Mugger mugger = new Mugger("Mugger", lastSeenPosition.x(), lastSeenPosition.y(), null);
+      TileSet storedFOV = new TileSet(20, 20);
+      for (int y = 0; y < 20; y++) {
+        for (int x = 0; x < 20; x++) {
+          if (MiscUtil.getDistance(lastSeenPosition, new Position(x, y)) <= 9 && random.nextDouble() < 0.8) {
+            storedFOV.add(new Position(x, y));
+          }
+        }
+      }
+      mugger.setStoredFOV(storedFOV);
+      // WHEN
+      Set<Position> searchArea = PathfindingUtil.calculateSearchArea(mugger, lastSeenPosition, gameMap);
+      // THEN
+      assertEquals(formerSearchArea(mugger, lastSeenPosition, gameMap), searchArea, "Search area around " + lastSeenPosition);
+    }
+  }
+
+  @Test
+  @DisplayName("findNearestTarget should reach the target with the shortest distance, through a single search")
+  void testFindNearestTarget_randomMaps_shouldMatchShortestDistances() {
+    Random random = new Random(9);
+    for (int run = 0; run < 100; run++) {
+      // GIVEN a random map and some targets
+      GameMap gameMap = createRandomGameMap(random, 20, 0.3);
+      Position start = randomPathPosition(random, gameMap);
+      Mugger mugger = new Mugger("Mugger", start.x(), start.y(), null);
+      Set<Position> targets = new HashSet<>();
+      for (int i = 0; i < 10; i++) {
+        targets.add(new Position(random.nextInt(20), random.nextInt(20)));
+      }
+      TileValidator walkable = gameMap.getNavigationGrid(mugger.getAllowedTileTypesMask())::isWalkable;
+      int expected = targets.stream()
+          .mapToInt(target -> PathfindingUtil.shortestPath(start.x(), start.y(), target.x(), target.y(), 20, 20, walkable))
+          .filter(distance -> distance > 0)
+          .min().orElse(-1);
+      // WHEN
+      PathfindingUtil.NearestTarget nearestTarget = PathfindingUtil.findNearestTarget(mugger, start, targets, gameMap);
+      // THEN
+      if (expected < 0) {
+        assertNull(nearestTarget, "No target can be reached from " + start);
+      } else {
+        assertTrue(targets.contains(nearestTarget.target()));
+        assertEquals(expected, nearestTarget.path().size(), "The closest target should be found from " + start);
+        assertEquals(nearestTarget.target(), nearestTarget.path().getLast(), "The path should end on the target");
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("The distance field toward the woods should give the distance to the nearest wood tile")
+  void testDistanceFieldToType_randomMaps_shouldMatchNearestWoodDistance() {
+    Random random = new Random(13);
+    for (int run = 0; run < 20; run++) {
+      // GIVEN
+      GameMap gameMap = createRandomGameMap(random, 20, 0.05 + random.nextDouble() * 0.2);
+      int allTypes = Type.maskOf(Set.of(Type.values()));
+      // WHEN
+      DistanceField distanceField = gameMap.getDistanceFieldToType(Type.WOOD, allTypes);
+      // THEN
+      int[] woodTiles = IntStream.range(0, 20 * 20).filter(tile -> gameMap.getTileTypeAt(tile % 20, tile / 20) == Type.WOOD).toArray();
+      GridSearch gridSearch = new GridSearch();
+      for (int y = 0; y < 20; y++) {
+        for (int x = 0; x < 20; x++) {
+          int expected;
+          if (gameMap.getTileTypeAt(x, y) == Type.WOOD) {
+            expected = 0;
+          } else {
+            expected = gridSearch.nearest(x, y, woodTiles, 20, 20, (tileX, tileY) -> true) < 0 ? DistanceField.UNREACHABLE
+                : gridSearch.lastPath().size();
+          }
+          assertEquals(expected, distanceField.distanceAt(x, y), "Distance to the woods from (" + x + ", " + y + ")");
+        }
+      }
+      assertSame(distanceField, gameMap.getDistanceFieldToType(Type.WOOD, allTypes), "The field should be computed once");
+    }
+  }
+
+  @Test
+  @DisplayName("The navigation grid should list the in-bounds neighbors of an allowed type, and follow tile type changes")
+  void testNavigationGrid_randomMap_shouldListAllowedNeighbors() {
+    // GIVEN
+    Random random = new Random(17);
+    GameMap gameMap = createRandomGameMap(random, 20, 0.4);
+    gameMap.getNavigationGrid(Type.PATH.mask());
+    gameMap.setTileTypeAt(0, 0, gameMap.getTileTypeAt(0, 0) == Type.PATH ? Type.WOOD : Type.PATH);
+    // WHEN
+    NavigationGrid navigationGrid = gameMap.getNavigationGrid(Type.PATH.mask());
+    // THEN
+    int[] neighbors = new int[4];
+    for (int tile = 0; tile < 400; tile++) {
+      int x = tile % 20;
+      int y = tile / 20;
+      Set<Integer> expected = new HashSet<>();
+      for (Move move : Move.values()) {
+        int newX = x + move.getDx();
+        int newY = y + move.getDy();
+        if (!MiscUtil.isOutOfMapBounds(gameMap, newX, newY) && gameMap.getTileTypeAt(newX, newY) == Type.PATH) {
+          expected.add(newY * 20 + newX);
+        }
+      }
+      int count = navigationGrid.neighbors(tile, neighbors);
+      Set<Integer> actual = new HashSet<>();
+      for (int i = 0; i < count; i++) {
+        actual.add(neighbors[i]);
+      }
+      assertEquals(expected, actual, "Neighbors of (" + x + ", " + y + ")");
+      assertEquals(gameMap.getTileTypeAt(x, y) == Type.PATH, navigationGrid.isWalkable(tile));
+    }
+  }
+
+  @Test
+  @DisplayName("Flow field directions should lead to the adventurer along shortest paths, and follow him when he moves")
+  void testFlowField_randomMaps_shouldFollowDistanceField() {
+    Random random = new Random(21);
+    for (int run = 0; run < 20; run++) {
+      // GIVEN a random map with the adventurer on a path tile
+      GameMap gameMap = createRandomGameMap(random, 20, 0.1 + random.nextDouble() * 0.3);
+      Position adventurerPosition = randomPathPosition(random, gameMap);
+      gameMap.setAdventurer(new Adventurer("Adventurer", adventurerPosition.x(), adventurerPosition.y()));
+      int pathOnly = Type.PATH.mask();
+      // WHEN
+      FlowField flowField = gameMap.getFlowField(pathOnly);
+      // THEN
+      for (int y = 0; y < 20; y++) {
+        for (int x = 0; x < 20; x++) {
+          int distance = flowField.getDistanceField().distanceAt(x, y);
+          Move direction = flowField.directionAt(x, y);
+          if (distance == 0) {
+            assertNull(direction, "No direction on the goal");
+          } else if (distance == DistanceField.UNREACHABLE) {
+            // like the distance field, a creature standing outside of its tile types may step onto any tile reaching the goal
+            assertTrue(direction == null
+                    || flowField.getDistanceField().distanceAt(x + direction.getDx(), y + direction.getDy()) != DistanceField.UNREACHABLE,
+                "The direction from an unreachable tile should lead to a reachable one, from (" + x + ", " + y + ")");
+          } else {
+            assertEquals(distance - 1, flowField.getDistanceField().distanceAt(x + direction.getDx(), y + direction.getDy()),
+                "The direction should lead one step closer, from (" + x + ", " + y + ")");
+          }
+        }
+      }
+      assertSame(flowField, gameMap.getFlowField(pathOnly), "The field should be built once while the adventurer stands still");
+      Position newPosition = randomPathPosition(random, gameMap);
+      gameMap.getAdventurer().setTileX(newPosition.x());
+      gameMap.getAdventurer().setTileY(newPosition.y());
+      assertEquals(newPosition, gameMap.getFlowField(pathOnly).getGoal(), "The field should follow the adventurer");
+    }
+  }
+
+  @Test
+  @DisplayName("A planned path should be reused across steps and repaired when blocked or when the goal moves")
+  void testPlannedPath_blockedStepAndMovingGoal_shouldRepairInsteadOfReplanning() {
+    // GIVEN an open map and a mugger walking two steps along the top row, whose only shortest path is straight
+    GameMap gameMap = createRandomGameMap(new Random(0), 10, 0);
+    Mugger mugger = new Mugger("Mugger", 0, 0, null);
+    PlannedPath plannedPath = new PlannedPath();
+    Position goal = new Position(9, 0);
+    Position position = new Position(0, 0);
+    for (int i = 0; i < 2; i++) {
+      position = plannedPath.nextStep(mugger, position, goal, gameMap);
+    }
+    assertEquals(new Position(2, 0), position);
+    assertEquals(1, plannedPath.getFullReplans(), "Only the first step should need a search");
+    assertEquals(1, plannedPath.getCachedSteps());
+
+    // WHEN the next step gets occupied
+    Position blocked = new Position(3, 0);
+    gameMap.occupyTile(blocked);
+    Position step = plannedPath.nextStep(mugger, position, goal, gameMap);
+    gameMap.freeTile(blocked);
+    // THEN
+    assertEquals(1, MiscUtil.getDistance(position, step));
+    assertFalse(step.equals(blocked), "The occupied tile should be avoided");
+    assertEquals(1, plannedPath.getRepairs(), "A detour should be spliced into the path");
+
+    // WHEN the goal moves next to the former one, and the mugger walks to it
+    Position movedGoal = new Position(9, 1);
+    position = step;
+    for (int i = 0; i < 30 && !position.equals(movedGoal); i++) {
+      position = plannedPath.nextStep(mugger, position, movedGoal, gameMap);
+    }
+    // THEN
+    assertEquals(movedGoal, position, "The path should lead to the new goal");
+    assertEquals(2, plannedPath.getRepairs(), "The path should be extended toward the new goal");
+    assertEquals(1, plannedPath.getFullReplans(), "No other search from scratch should be needed");
+    assertNull(plannedPath.nextStep(mugger, movedGoal, movedGoal, gameMap), "There is no step left once on the goal");
+  }
+
+  @Test
+  @DisplayName("Searches should not allocate their working arrays once the workspace of the thread is warmed up")
+  void testPathfindingWorkspace_repeatedSearches_shouldNotAllocateWorkingArrays() {
+    // GIVEN a large random map, and searches run once to size the workspace and get the code compiled
+    Random random = new Random(5);
+    GameMap gameMap = createRandomGameMap(random, 60, 0.3);
+    Position[] starts = new Position[20];
+    Position[] goals = new Position[20];
+    for (int i = 0; i < starts.length; i++) {
+      starts[i] = randomPathPosition(random, gameMap);
+      goals[i] = randomPathPosition(random, gameMap);
+    }
+    // (tiles and creature are read once: in the same JVM, mocking them elsewhere may make their getters allocate)
+    int tileTypesMask = new Mugger("Mugger", 0, 0, null).getAllowedTileTypesMask();
+    TileValidator pathOnly = gameMap.getNavigationGrid(tileTypesMask)::isWalkable;
+    ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Runnable searches = () -> {
+      for (int i = 0; i < starts.length; i++) {
+        PathfindingWorkspace.current().getAStar().search(starts[i].x(), starts[i].y(), goals[i].x(), goals[i].y(), 60, 60, pathOnly);
+        PathfindingUtil.hasPath(starts[i], goals[i], 60, 60, pathOnly);
+      }
+    };
+    for (int warmUp = 0; warmUp < 200; warmUp++) {
+      searches.run();
+    }
+    // WHEN
+    int runs = 50;
+    long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+    for (int run = 0; run < runs; run++) {
+      searches.run();
+    }
+    long allocatedPerSearch = (threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore) / (runs * 2L * starts.length);
+    // THEN far less than the arrays of a 60x60 search (a few KB), whatever the JIT did or didn't optimize away
+    assertTrue(allocatedPerSearch < MAX_ALLOCATED_BYTES_PER_SEARCH, "A search allocated " + allocatedPerSearch + " bytes on average");
+  }
+
+  /**
+   * The search area as it used to be computed, kept as a reference.
+   */
+  private static Set<Position> formerSearchArea(Mugger monster, Position lastSeenPosition, GameMap gameMap) {
+    Set<Position> searchArea = new HashSet<>();
+    Queue<Position> queue = new LinkedList<>();
+    Set<Position> visited = new HashSet<>();
+    queue.add(lastSeenPosition);
+    visited.add(lastSeenPosition);
+    TileValidator validator = (x, y) -> monster.getAllowedTileTypes().contains(gameMap.getTileTypeAt(x, y))
+        && monster.getStoredFOV().contains(new Position(x, y));
+    while (!queue.isEmpty()) {
+      Position current = queue.poll();
+      searchArea.add(current);
+      for (Move move : Move.values()) {
+        Position neighbor = new Position(current.x() + move.getDx(), current.y() + move.getDy());
+        if (!MiscUtil.isOutOfMapBounds(gameMap, neighbor.x(), neighbor.y())
+            && monster.getAllowedTileTypes().contains(gameMap.getTileTypeAt(neighbor.x(), neighbor.y()))
+            && !visited.contains(neighbor)
+            && MiscUtil.getDistance(lastSeenPosition, neighbor) <= 6
+            && PathfindingUtil.hasPath(lastSeenPosition, neighbor, gameMap.getMapWidth(), gameMap.getMapHeight(), validator)) {
+          queue.add(neighbor);
+          visited.add(neighbor);
+        }
+      }
+    }
+    return searchArea;
+  }
+
+  private static GameMap createGameMap() {
+    Tile[][] grid = new Tile[SIZE][SIZE];
+    for (int y = 0; y < SIZE; y++) {
+      for (int x = 0; x < SIZE; x++) {
+        grid[y][x] = new Tile(LAYOUT[y][x] == 0 ? Type.PATH : Type.WOOD, x, y);
+      }
+    }
+    return new GameMap(grid, SIZE, SIZE, null, null);
+  }
+
+}
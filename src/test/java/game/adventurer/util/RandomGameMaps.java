@@ -0,0 +1,45 @@
+package game.adventurer.util;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Position;
+import game.adventurer.model.Tile;
+import game.adventurer.model.Tile.Type;
+import game.adventurer.model.creature.Adventurer;
+import java.util.Random;
+
+/**
+ * Random square maps of PATH and WOOD tiles, shared by the tests comparing an algorithm against another one.
+ */
+public final class RandomGameMaps {
+
+  private RandomGameMaps() {
+  }
+
+  /**
+   * @param random    The source of the tiles, so a seed gives the same map.
+   * @param size      The width and height of the map.
+   * @param woodRatio The probability of each tile to be a WOOD tile.
+   * @return a map of the given size, with an adventurer in its top-left corner.
+   */
+  public static GameMap createRandomGameMap(Random random, int size, double woodRatio) {
+    Tile[][] grid = new Tile[size][size];
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        grid[y][x] = new Tile(random.nextDouble() < woodRatio ? Type.WOOD : Type.PATH, x, y);
+      }
+    }
+    return new GameMap(grid, size, size, new Adventurer("Adventurer", 0, 0), null);
+  }
+
+  /**
+   * @return a random PATH tile of the map, not occupied.
+   */
+  public static Position randomPathPosition(Random random, GameMap gameMap) {
+    Position position;
+    do {
+      position = new Position(random.nextInt(gameMap.getMapWidth()), random.nextInt(gameMap.getMapHeight()));
+    } while (gameMap.getTileTypeAt(position.x(), position.y()) != Type.PATH || gameMap.isTileOccupied(position.x(), position.y()));
+    return position;
+  }
+
+}
@@ -0,0 +1,82 @@
+package game.adventurer.util;
+
+import static game.adventurer.util.RandomGameMaps.createRandomGameMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import game.adventurer.model.GameMap;
+import game.adventurer.model.Position;
+import game.adventurer.model.Tile;
+import game.adventurer.model.Tile.Type;
+import game.adventurer.model.creature.Adventurer;
+import game.adventurer.model.creature.Creature;
+import game.adventurer.model.creature.Lurker;
+import game.adventurer.model.creature.Mugger;
+import game.adventurer.model.creature.Sniffer;
+import game.adventurer.model.enums.Direction;
+import game.adventurer.model.enums.FieldOfViewAlgorithm;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ShadowCastingTest {
+
+  private static final int SIZE = 20;
+
+  @Test
+  @DisplayName("Shadowcasting should find the same field of view as the Bresenham lines, for every kind of creature and wood density")
+  void testCalculateFieldOfView_randomMaps_shouldMatchBresenham() {
+    Random random = new Random(18);
+    for (double woodDensity : new double[]{0, 0.05, 0.15, 0.3, 0.5}) {
+      for (int run = 0; run < 400; run++) {
+        // GIVEN a random map, and a creature anywhere on it (on a WOOD tile too) facing any direction
+        GameMap gameMap = createRandomGameMap(random, SIZE, woodDensity);
+        Creature creature = createRandomCreature(random);
+        creature.setFacingDirection(Direction.values()[random.nextInt(Direction.values().length)]);
+        // WHEN
+        Set<Position> expected = MiscUtil.calculateFieldOfView(creature, gameMap, FieldOfViewAlgorithm.BRESENHAM);
+        Set<Position> actual = MiscUtil.calculateFieldOfView(creature, gameMap, FieldOfViewAlgorithm.SHADOWCASTING);
+        // THEN
+        assertEquals(expected, actual, "Field of view of " + creature.getClass().getSimpleName() + " at (" + creature.getTileX() + ", "
+            + creature.getTileY() + ") facing " + creature.getFacingDirection() + ", wood density " + woodDensity);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("A Lurker in the woods should only see the adjacent tiles, WOOD or not")
+  void testCalculateFieldOfView_lurkerOnWood_shouldSeeAdjacentTilesOnly() {
+    // GIVEN a map of woods with a path next to the Lurker
+    Tile[][] grid = new Tile[SIZE][SIZE];
+    for (int y = 0; y < SIZE; y++) {
+      for (int x = 0; x < SIZE; x++) {
+        grid[y][x] = new Tile(y == 6 ? Type.PATH : Type.WOOD, x, y);
+      }
+    }
+    GameMap gameMap = new GameMap(grid, SIZE, SIZE, new Adventurer("Adventurer", 0, 6), null);
+    Lurker lurker = new Lurker("Lurker", 5, 5, null);
+    Set<Position> expected = new HashSet<>();
+    for (int x = 4; x <= 6; x++) {
+      for (int y = 4; y <= 6; y++) {
+        expected.add(new Position(x, y));
+      }
+    }
+    // WHEN
+    Set<Position> visibleTiles = MiscUtil.calculateFieldOfView(lurker, gameMap, FieldOfViewAlgorithm.SHADOWCASTING);
+    // THEN
+    assertEquals(expected, visibleTiles);
+  }
+
+  private static Creature createRandomCreature(Random random) {
+    int x = random.nextInt(SIZE);
+    int y = random.nextInt(SIZE);
+    return switch (random.nextInt(4)) {
+      case 0 -> new Adventurer("Adventurer", x, y);
+      case 1 -> new Mugger("Mugger", x, y, null);
+      case 2 -> new Sniffer("Sniffer", x, y, null);
+      default -> new Lurker("Lurker", x, y, null);
+    };
+  }
+
+}
@@ -0,0 +1,105 @@
+package game.adventurer.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import game.adventurer.model.Position;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TileSetTest {
+
+  private static final int WIDTH = 13; // not a divisor of 64, so that rows straddle the words
+  private static final int HEIGHT = 11;
+
+  @Test
+  @DisplayName("A TileSet should behave like a HashSet of positions")
+  void testOperations_randomPositions_shouldMatchHashSet() {
+    Random random = new Random(20);
+    TileSet tileSet = new TileSet(WIDTH, HEIGHT);
+    Set<Position> expected = new HashSet<>();
+    for (int i = 0; i < 2000; i++) {
+      // GIVEN a random position
+      Position position = new Position(random.nextInt(WIDTH), random.nextInt(HEIGHT));
+      // WHEN adding or removing it
+      if (random.nextBoolean()) {
+        assertEquals(expected.add(position), tileSet.add(position));
+      } else {
+        assertEquals(expected.remove(position), tileSet.remove(position));
+      }
+      // THEN
+      assertEquals(expected.size(), tileSet.size());
+    }
+    assertEquals(expected, tileSet);
+    assertEquals(tileSet, expected);
+    assertEquals(expected.hashCode(), tileSet.hashCode());
+    assertFalse(tileSet.contains(-1, 0), "Positions outside of the map are never in the set");
+    assertFalse(tileSet.contains(new Position(WIDTH, 0)));
+
+    tileSet.removeIf(position -> position.x() == 0); // through the iterator
+    expected.removeIf(position -> position.x() == 0);
+    assertEquals(expected, tileSet);
+  }
+
+  @Test
+  @DisplayName("forEachDifference should visit the tiles in only one of the two sets, and the bulk operations should combine them")
+  void testForEachDifference_randomSets_shouldVisitSymmetricDifference() {
+    Random random = new Random(21);
+    // GIVEN two random sets
+    TileSet first = randomTileSet(random);
+    TileSet second = randomTileSet(random);
+    Set<Position> expected = new HashSet<>(first);
+    expected.addAll(second);
+    Set<Position> common = new HashSet<>(first);
+    common.retainAll(second);
+    expected.removeAll(common);
+    // WHEN
+    List<Position> difference = new ArrayList<>();
+    first.forEachDifference(second, (x, y) -> difference.add(new Position(x, y)));
+    // THEN
+    assertEquals(expected.size(), difference.size());
+    assertEquals(expected, new HashSet<>(difference));
+
+    TileSet union = new TileSet(first);
+    assertTrue(union.addAll(second));
+    assertEquals(expected.size() + common.size(), union.size());
+    TileSet intersection = new TileSet(first);
+    intersection.retainAll(second);
+    assertEquals(common, intersection);
+    first.copyFrom(second);
+    assertEquals(second, first);
+  }
+
+  @Test
+  @DisplayName("A frozen TileSet should refuse modifications")
+  void testFreeze_shouldRefuseModifications() {
+    TileSet tileSet = new TileSet(WIDTH, HEIGHT);
+    tileSet.add(1, 1);
+    tileSet.freeze();
+    assertThrows(UnsupportedOperationException.class, () -> tileSet.add(2, 2));
+    assertThrows(UnsupportedOperationException.class, () -> tileSet.remove(new Position(1, 1)));
+    assertThrows(UnsupportedOperationException.class, tileSet::clear);
+    TileSet copy = new TileSet(tileSet);
+    assertTrue(copy.add(2, 2), "A copy of a frozen set should be modifiable");
+  }
+
+  private static TileSet randomTileSet(Random random) {
+    TileSet tileSet = new TileSet(WIDTH, HEIGHT);
+    for (int y = 0; y < HEIGHT; y++) {
+      for (int x = 0; x < WIDTH; x++) {
+        if (random.nextBoolean()) {
+          tileSet.add(x, y);
+        }
+      }
+    }
+    return tileSet;
+  }
+
+}